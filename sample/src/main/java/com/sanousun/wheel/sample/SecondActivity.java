@@ -31,6 +31,7 @@ public class SecondActivity extends AppCompatActivity {
         mWheelRecycler = findViewById(R.id.recycler_wheel);
         mWheelLayoutManager = new WheelLayoutManager();
         mWheelRecycler.setLayoutManager(mWheelLayoutManager);
+        new WheelSnapHelper().attachToRecyclerView(mWheelRecycler);
         List<String> dataSource = new ArrayList<>();
         for (int i = 0; i < 100; i++) {
             dataSource.add("我是item " + i);
@@ -40,6 +41,6 @@ public class SecondActivity extends AppCompatActivity {
         mJmpEdit = findViewById(R.id.et_jmp);
         mJmpBtn = findViewById(R.id.btn_jmp);
         mJmpBtn.setOnClickListener(v ->
-                mWheelRecycler.scrollToPosition(Integer.valueOf(mJmpEdit.getText().toString())));
+                mWheelRecycler.smoothScrollToPosition(Integer.valueOf(mJmpEdit.getText().toString())));
     }
 }
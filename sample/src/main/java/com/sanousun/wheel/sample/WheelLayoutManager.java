@@ -1,12 +1,13 @@
 package com.sanousun.wheel.sample;
 
 import android.graphics.PointF;
-import android.graphics.Rect;
 import android.support.v7.widget.RecyclerView;
-import android.util.SparseArray;
 import android.util.SparseBooleanArray;
 import android.view.View;
 
+import com.sanousun.wheel.core.WheelCurve;
+import com.sanousun.wheel.core.WheelFrameTable;
+
 /**
  * @author dashu
  * @date 2017/10/10
@@ -43,21 +44,46 @@ public class WheelLayoutManager extends RecyclerView.LayoutManager
      * 基础偏移量，1/4周长
      */
     private int mBaseVerticalScrollOffset = 0;
-    /**
-     * item的顶点位置
-     */
-    private int mTotalHeight = 0;
     /**
      * 保存所有的Item的上下左右的偏移量信息
      */
-    private SparseArray<Rect> mAllItemFrames = new SparseArray<>();
+    private final WheelFrameTable mAllItemFrames = new WheelFrameTable();
     /**
      * 记录Item是否出现过屏幕且还没有回收。true表示出现过屏幕上，并且还没被回收
      */
     private SparseBooleanArray mHasAttachedItems = new SparseBooleanArray();
+    /**
+     * 声明的 item 固定高度，0 表示按采样的 item 估算
+     */
+    private int mItemHeight = 0;
+    /**
+     * 布局信息需要按估算的高度重新排列
+     */
+    private boolean mFramesDirty = true;
 
     private int mTargetPos = 0;
 
+    /**
+     * 声明所有 item 的高度一致，布局时不再采样测量
+     * 只有可见区域附近的 item 会被绑定和测量，实际高度不一致的 item 在显示时修正
+     *
+     * @param itemHeight item 包含 margin 与 decoration 的高度，0 表示按采样的 item 估算
+     */
+    public void setItemHeight(int itemHeight) {
+        if (mItemHeight == itemHeight) {
+            return;
+        }
+        mItemHeight = itemHeight;
+        mFramesDirty = true;
+        requestLayout();
+    }
+
+    @Override
+    public void onAdapterChanged(RecyclerView.Adapter oldAdapter, RecyclerView.Adapter newAdapter) {
+        mFramesDirty = true;
+        mHasAttachedItems.clear();
+    }
+
     @Override
     public RecyclerView.LayoutParams generateDefaultLayoutParams() {
         return new RecyclerView.LayoutParams(
@@ -75,99 +101,127 @@ public class WheelLayoutManager extends RecyclerView.LayoutManager
         if (state.isPreLayout()) {
             return;
         }
-        // 进行布局
-        int offsetY = 0;
-        mTotalHeight = 0;
         // 考虑到曲面上的距离，所以基础偏移是1/4周长减去半个item的高度
         mBaseVerticalScrollOffset = (int) (Math.PI * getVerticalSpace() / 4);
-        for (int i = 0; i < getItemCount(); i++) {
-            View child = recycler.getViewForPosition(i);
-            // 开始计算大小
-            measureChildWithMargins(child, 0, 0);
-            // 计算宽度
-            int width = getDecoratedMeasuredWidth(child);
-            // 计算高度
-            int height = getDecoratedMeasuredHeight(child);
-            mTotalHeight += height;
-            Rect frame = mAllItemFrames.get(i);
-            if (frame == null) {
-                frame = new Rect();
+        int targetPos = mTargetPos;
+        // 进行布局，所有item先按同样的高度排列，只有显示出来的item才会测量并修正
+        if (mFramesDirty || mAllItemFrames.getCount() != getItemCount()) {
+            if (targetPos == RecyclerView.NO_POSITION) {
+                targetPos = getPositionForOffset(0);
             }
-            frame.set(0, offsetY, width, offsetY + height);
-            // 将当前的Item的Rect边界数据保存
-            mAllItemFrames.put(i, frame);
-            // 将竖直方向偏移量增大height
-            offsetY += height;
+            targetPos = Math.max(0, Math.min(targetPos, getItemCount() - 1));
+            mAllItemFrames.reset(getItemCount(), estimateItemHeight(recycler, targetPos));
+            mFramesDirty = false;
+        }
+        if (targetPos != RecyclerView.NO_POSITION) {
+            targetPos = Math.max(0, Math.min(targetPos, getItemCount() - 1));
+            mVerticalScrollOffset = getOffsetForPosition(targetPos);
+            mTargetPos = RecyclerView.NO_POSITION;
         }
-        // 如果所有子View的高度和没有填满RecyclerView的高度，则将高度设置为RecyclerView的高度
-        mTotalHeight = Math.max(mTotalHeight, getVerticalCurveSpace());
-        mVerticalScrollOffset = getOffsetForPosition(mTargetPos);
-        mTargetPos = 0;
+        // 重新布局时数据可能改变，将所有的子view临时移除，重新绑定
+        detachAndScrapAttachedViews(recycler);
+        mHasAttachedItems.clear();
         recycleAndFillItems(recycler, state);
     }
 
     /**
-     * 回收不需要的Item，并且将需要显示的Item从缓存中取出
+     * 估算item的高度，没有声明固定高度时只测量目标位置的一个item
      */
-    private void recycleAndFillItems(RecyclerView.Recycler recycler, RecyclerView.State state) {
-        // 将所有的子view临时移除并且回收
-        detachAndScrapAttachedViews(recycler);
-        for (int i = 0; i < getItemCount(); i++) {
-            // 由于已经调用了detachAndScrapAttachedViews，因此需要将当前的Item设置为未出现过
-            mHasAttachedItems.put(i, false);
+    private int estimateItemHeight(RecyclerView.Recycler recycler, int position) {
+        if (mItemHeight > 0) {
+            return mItemHeight;
         }
+        if (getChildCount() > 0) {
+            return getDecoratedMeasuredHeight(getChildAt(0));
+        }
+        View sample = recycler.getViewForPosition(position);
+        measureChildWithMargins(sample, 0, 0);
+        int height = getDecoratedMeasuredHeight(sample);
+        recycler.recycleView(sample);
+        return height;
+    }
+
+    /**
+     * 回收滑出显示区域的Item，并且只将新进入显示区域的Item从缓存中取出
+     * 仍然在显示区域的Item保持attach，只更新在滚轮曲面上的位置
+     */
+    private void recycleAndFillItems(RecyclerView.Recycler recycler, RecyclerView.State state) {
         // 跳过preLayout，preLayout主要用于支持动画
         if (state.isPreLayout()) {
             return;
         }
 
-        // 当前scroll offset状态下的显示区域
-        // 在滚轮曲面的显示区域
-        Rect displayFrame = new Rect(0, mVerticalScrollOffset,
-                getHorizontalSpace(), mVerticalScrollOffset + getVerticalCurveSpace());
-
-        // 将滑出屏幕的Items回收到Recycle缓存中
-//        Rect childFrame = new Rect();
-//        Log.i(TAG, getChildCount() + "");
-//        for (int i = 0; i < getChildCount(); i++) {
-//            View child = getChildAt(i);
-//            getDecoratedBoundsWithMargins(child, childFrame);
-//            // 如果Item没有在显示区域，就说明需要回收
-//            if (!Rect.intersects(displayFrame, childFrame)) {
-//                // 回收掉滑出屏幕的View
-//                removeAndRecycleView(child, recycler);
-//            }
-//        }
-
-        // 重新显示需要出现在屏幕的子View
-        for (int i = 0; i < getItemCount(); i++) {
-            if (Rect.intersects(displayFrame, mAllItemFrames.get(i))) {
+        // 修正高度之前中心的item，修正之后保持它在中心不动
+        int anchorPos = getPositionForOffset(0);
+        int anchorOffset = mVerticalScrollOffset - getOffsetForPosition(anchorPos);
+
+        // 修正高度之后显示区域会随着中心的item移动，重新计算需要显示的范围，直到不再有item需要修正
+        boolean corrected;
+        do {
+            // 当前scroll offset状态下的显示区域
+            // 在滚轮曲面的显示区域
+            int displayTop = mVerticalScrollOffset;
+            int displayBottom = mVerticalScrollOffset + getVerticalCurveSpace();
+            // 需要显示的范围通过二分查找得到
+            int first = mAllItemFrames.getFirstIntersecting(displayTop);
+            int last = mAllItemFrames.getLastIntersecting(displayBottom);
+
+            // 将滑出屏幕的Items回收到Recycle缓存中
+            for (int i = getChildCount() - 1; i >= 0; i--) {
+                View child = getChildAt(i);
+                int position = getPosition(child);
+                if (position < first || position > last) {
+                    mHasAttachedItems.delete(position);
+                    removeAndRecycleView(child, recycler);
+                }
+            }
+
+            // 只显示新进入屏幕的子View，子View按下标的顺序排列
+            corrected = false;
+            int index = 0;
+            for (int i = first; i <= last; i++) {
+                if (mHasAttachedItems.get(i)) {
+                    index++;
+                    continue;
+                }
                 View scrap = recycler.getViewForPosition(i);
                 measureChildWithMargins(scrap, 0, 0);
-                addView(scrap);
-                Rect frame = mAllItemFrames.get(i);
-                // 将转换后在滚轮曲面上的布局展示出来
-                setScrapView(scrap, displayFrame, frame);
+                addView(scrap, index++);
+                mHasAttachedItems.put(i, true);
+                // 按测量的实际高度修正估算的布局信息
+                if (mAllItemFrames.setHeight(i, getDecoratedMeasuredHeight(scrap)) != 0) {
+                    corrected = true;
+                }
             }
+            mVerticalScrollOffset = getOffsetForPosition(anchorPos) + anchorOffset;
+        } while (corrected);
+        int displayTop = mVerticalScrollOffset;
+        int displayBottom = mVerticalScrollOffset + getVerticalCurveSpace();
+        for (int i = 0; i < getChildCount(); i++) {
+            View child = getChildAt(i);
+            // 将转换后在滚轮曲面上的布局展示出来
+            setScrapView(child, displayTop, displayBottom, getPosition(child));
         }
     }
 
-    private void setScrapView(View scrap, Rect displayFrame, Rect frame) {
-        double displayMidPoint = (displayFrame.top + displayFrame.bottom) / 2.0 - mVerticalScrollOffset;
-        double frameMidPoint = (frame.top + frame.bottom) / 2.0 - mVerticalScrollOffset;
+    private void setScrapView(View scrap, int displayTop, int displayBottom, int position) {
+        int frameTop = mAllItemFrames.getTop(position);
+        int frameBottom = mAllItemFrames.getBottom(position);
+        double displayMidPoint = (displayTop + displayBottom) / 2.0 - mVerticalScrollOffset;
+        double frameMidPoint = (frameTop + frameBottom) / 2.0 - mVerticalScrollOffset;
         double disY = displayMidPoint - frameMidPoint;
-        double frameHeight = frame.bottom - frame.top;
+        double frameHeight = frameBottom - frameTop;
         double r = getVerticalSpace() / 2.0;
-        double arc = disY / r;
-        double verticalPoint = (1 - Math.sin(arc)) * r;
+        double arc = WheelCurve.getArc(disY, r);
+        double verticalPoint = WheelCurve.getProjectedY(arc, r);
         // 布局位置，然后进行缩放
         layoutDecorated(scrap,
-                frame.left,
+                0,
                 (int) (verticalPoint - frameHeight / 2),
-                frame.right,
+                getDecoratedMeasuredWidth(scrap),
                 (int) (verticalPoint + frameHeight / 2)
         );
-        float scaleRate = (float) Math.cos(arc);
+        float scaleRate = WheelCurve.getScale(arc);
         if (scaleRate < MIN_SCALE) {
             scaleRate = MIN_SCALE;
         }
@@ -200,10 +254,6 @@ public class WheelLayoutManager extends RecyclerView.LayoutManager
         return (int) (height * Math.PI / 2);
     }
 
-    private int getHorizontalSpace() {
-        return getWidth() - getPaddingLeft() - getPaddingRight();
-    }
-
     /**
      * 禁止水平滑动
      */
@@ -227,7 +277,7 @@ public class WheelLayoutManager extends RecyclerView.LayoutManager
 
     @Override
     public int scrollVerticallyBy(int dy, RecyclerView.Recycler recycler, RecyclerView.State state) {
-        if (mAllItemFrames.size() == 0) {
+        if (mAllItemFrames.getCount() == 0) {
             return 0;
         }
         // 实际要滑动的距离
@@ -237,8 +287,8 @@ public class WheelLayoutManager extends RecyclerView.LayoutManager
             travel = getOffsetForPosition(0) - mVerticalScrollOffset;
         }
         // 如果滑动到最底部
-        else if (mVerticalScrollOffset + dy > getOffsetForPosition(mAllItemFrames.size() - 1)) {
-            travel = getOffsetForPosition(mAllItemFrames.size() - 1) - mVerticalScrollOffset;
+        else if (mVerticalScrollOffset + dy > getOffsetForPosition(mAllItemFrames.getCount() - 1)) {
+            travel = getOffsetForPosition(mAllItemFrames.getCount() - 1) - mVerticalScrollOffset;
         }
         // 将竖直方向的偏移量+travel
         mVerticalScrollOffset += travel;
@@ -257,7 +307,12 @@ public class WheelLayoutManager extends RecyclerView.LayoutManager
     @Override
     public void smoothScrollToPosition(RecyclerView recyclerView,
                                        RecyclerView.State state, int position) {
-
+        if (getItemCount() <= 0) {
+            return;
+        }
+        WheelSmoothScroller scroller = new WheelSmoothScroller(recyclerView);
+        scroller.setTargetPosition(Math.max(0, Math.min(position, getItemCount() - 1)));
+        startSmoothScroll(scroller);
     }
 
     @Override
@@ -270,22 +325,33 @@ public class WheelLayoutManager extends RecyclerView.LayoutManager
         return new PointF(0, direction);
     }
 
+    /**
+     * 当前位于滚轮中心的item
+     */
+    int getCenterPosition() {
+        return getPositionForOffset(0);
+    }
+
+    /**
+     * 将item的中心滚动到滚轮中心需要的距离，没有显示过的item按估算的高度计算
+     */
+    int getScrollDistanceForPosition(int position) {
+        return getOffsetForPosition(position) - mVerticalScrollOffset;
+    }
+
+    /**
+     * 滚动distance之后位于滚轮中心的item
+     */
+    int getPositionForScrollDistance(int distance) {
+        return getPositionForOffset(distance);
+    }
+
     private int getPositionForOffset(int offset) {
         int middle = mVerticalScrollOffset + mBaseVerticalScrollOffset + offset;
-        if (middle < 0) {
-            return 0;
-        }
-        for (int i = 0; i < mAllItemFrames.size(); i++) {
-            Rect rect = mAllItemFrames.get(i);
-            if (rect.top <= middle && rect.bottom >= middle) {
-                return i;
-            }
-        }
-        return mAllItemFrames.size() - 1;
+        return mAllItemFrames.getPositionForOffset(middle);
     }
 
     private int getOffsetForPosition(int position) {
-        Rect rect = mAllItemFrames.get(position);
-        return rect.top + (rect.bottom - rect.top) / 2 - mBaseVerticalScrollOffset;
+        return mAllItemFrames.getCenter(position) - mBaseVerticalScrollOffset;
     }
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.sanousun.wheel.sample;
+
+import android.support.v7.widget.RecyclerView;
+import android.util.DisplayMetrics;
+import android.view.View;
+import android.view.animation.AnimationUtils;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.Interpolator;
+
+import com.sanousun.wheel.core.WheelPhysics;
+
+/**
+ * WheelLayoutManager 的平滑滚动，按 LayoutManager 自己的偏移量让目标 item 停在滚轮中心
+ * 距离较远时先直接滚动到目标附近，只有最后几个 item 有动画，整个过程只通过滚动回调完成，不需要重新布局
+ * 由 fling 发起时不跳过中间的 item，按 {@link WheelPhysics} 的匀减速模型从初速度减速到目标 item
+ * 目标 item 显示后修正剩余的距离时，以当时的速度作为初速度重新计算时长，速度不会突变
+ */
+
+final class WheelSmoothScroller extends RecyclerView.SmoothScroller {
+
+    /**
+     * 动画经过的最多 item 数量，超出的部分直接跳过
+     */
+    static final int MAX_ANIMATED_ITEMS = 5;
+    /**
+     * 每英寸滚动距离的动画时长
+     */
+    private static final float MILLISECONDS_PER_INCH = 100f;
+    private static final int MIN_DURATION = 100;
+    private static final int MAX_DURATION = 400;
+    /**
+     * fling 的减速度，dp/s²，与 ScrollWheelView 一致
+     */
+    static final float DECELERATION_DP = 5000f;
+
+    private final RecyclerView mRecyclerView;
+    private final Interpolator mInterpolator = new DecelerateInterpolator();
+    private final float mMillisPerPixel;
+    private final float mDeceleration;
+    /**
+     * fling 的初速度，0 表示不是由 fling 发起
+     */
+    private final float mVelocity;
+    /**
+     * 目标 item 还没有显示时是否已经按估算的距离开始滚动
+     */
+    private boolean mSeeking;
+    /**
+     * 最近一次设置的滚动，用于算出修正时的速度
+     */
+    private int mActionDistance;
+    private long mActionDurationNanos;
+    private long mActionStartNanos;
+
+    WheelSmoothScroller(RecyclerView recyclerView) {
+        this(recyclerView, 0);
+    }
+
+    /**
+     * @param velocity fling 的初速度，px/s，不为 0 时匀减速停在目标 item
+     */
+    WheelSmoothScroller(RecyclerView recyclerView, float velocity) {
+        mRecyclerView = recyclerView;
+        mVelocity = velocity;
+        DisplayMetrics metrics = recyclerView.getResources().getDisplayMetrics();
+        mMillisPerPixel = MILLISECONDS_PER_INCH / metrics.densityDpi;
+        mDeceleration = DECELERATION_DP * metrics.density;
+    }
+
+    @Override
+    protected void onStart() {
+        if (mVelocity != 0) {
+            return;
+        }
+        WheelLayoutManager layoutManager = (WheelLayoutManager) getLayoutManager();
+        int current = layoutManager.getCenterPosition();
+        int target = getTargetPosition();
+        if (Math.abs(target - current) <= MAX_ANIMATED_ITEMS) {
+            return;
+        }
+        int jumpPos = target > current ? target - MAX_ANIMATED_ITEMS : target + MAX_ANIMATED_ITEMS;
+        mRecyclerView.scrollBy(0, layoutManager.getScrollDistanceForPosition(jumpPos));
+    }
+
+    @Override
+    protected void onSeekTargetStep(int dx, int dy, RecyclerView.State state, Action action) {
+        // 估算的距离只需要设置一次，目标 item 显示之后在 onTargetFound 中修正
+        if (mSeeking) {
+            return;
+        }
+        mSeeking = true;
+        updateAction(action, mVelocity);
+    }
+
+    @Override
+    protected void onTargetFound(View targetView, RecyclerView.State state, Action action) {
+        // 已经按估算的距离在减速，剩余的距离以当前速度为初速度，速度保持连续
+        updateAction(action, mSeeking ? getCurrentVelocity() : mVelocity);
+    }
+
+    @Override
+    protected void onStop() {
+        mSeeking = false;
+    }
+
+    /**
+     * 估算距离的滚动进行到现在的速度，与 RecyclerView 的滚动动画使用同一个时钟
+     */
+    private float getCurrentVelocity() {
+        long elapsed = AnimationUtils.currentAnimationTimeMillis() * 1000000 - mActionStartNanos;
+        return WheelPhysics.getVelocity(mActionDistance, mActionDurationNanos, elapsed);
+    }
+
+    /**
+     * @param velocity 初速度，px/s，不为 0 时按匀减速模型计算时长
+     */
+    private void updateAction(Action action, float velocity) {
+        int dy = ((WheelLayoutManager) getLayoutManager())
+                .getScrollDistanceForPosition(getTargetPosition());
+        if (dy == 0) {
+            return;
+        }
+        int duration;
+        if (velocity != 0) {
+            duration = (int) (WheelPhysics.getDurationNanos(dy, velocity, mDeceleration) / 1000000);
+        } else {
+            duration = (int) Math.ceil(Math.abs(dy) * mMillisPerPixel);
+            duration = Math.max(MIN_DURATION, Math.min(duration, MAX_DURATION));
+        }
+        mActionDistance = dy;
+        mActionDurationNanos = duration * 1000000L;
+        mActionStartNanos = AnimationUtils.currentAnimationTimeMillis() * 1000000;
+        action.update(0, dy, duration, mInterpolator);
+    }
+}
@@ -0,0 +1,78 @@
+package com.sanousun.wheel.sample;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.SnapHelper;
+import android.view.View;
+
+import com.sanousun.wheel.core.WheelPhysics;
+
+/**
+ * WheelLayoutManager 的吸附，fling 结束时正好有一个 item 停在滚轮中心
+ * 目标 item 在 fling 开始时由初速度算出的滑行距离确定，减速的过程直接停在目标上，不需要再滚动一次修正
+ * 拖动后没有 fling 时吸附到离中心最近的 item
+ */
+
+public class WheelSnapHelper extends SnapHelper {
+
+    private RecyclerView mRecyclerView;
+    /**
+     * 当前 fling 的竖直初速度，创建滚动时使用
+     */
+    private float mVelocityY;
+
+    @Override
+    public void attachToRecyclerView(@Nullable RecyclerView recyclerView) {
+        mRecyclerView = recyclerView;
+        super.attachToRecyclerView(recyclerView);
+    }
+
+    @Override
+    public boolean onFling(int velocityX, int velocityY) {
+        // snapFromFling 先创建滚动再查找目标 item，速度需要在这之前记录
+        mVelocityY = velocityY;
+        return super.onFling(velocityX, velocityY);
+    }
+
+    @Nullable
+    @Override
+    public int[] calculateDistanceToFinalSnap(@NonNull RecyclerView.LayoutManager layoutManager,
+                                              @NonNull View targetView) {
+        if (!(layoutManager instanceof WheelLayoutManager)) {
+            return null;
+        }
+        int position = layoutManager.getPosition(targetView);
+        return new int[]{0, ((WheelLayoutManager) layoutManager).getScrollDistanceForPosition(position)};
+    }
+
+    @Nullable
+    @Override
+    public View findSnapView(RecyclerView.LayoutManager layoutManager) {
+        if (!(layoutManager instanceof WheelLayoutManager) || layoutManager.getItemCount() == 0) {
+            return null;
+        }
+        return layoutManager.findViewByPosition(((WheelLayoutManager) layoutManager).getCenterPosition());
+    }
+
+    @Override
+    public int findTargetSnapPosition(RecyclerView.LayoutManager layoutManager, int velocityX, int velocityY) {
+        if (!(layoutManager instanceof WheelLayoutManager) || layoutManager.getItemCount() == 0
+                || mRecyclerView == null) {
+            return RecyclerView.NO_POSITION;
+        }
+        float deceleration = WheelSmoothScroller.DECELERATION_DP
+                * mRecyclerView.getResources().getDisplayMetrics().density;
+        int distance = WheelPhysics.getFlingDistance(velocityY, deceleration);
+        return ((WheelLayoutManager) layoutManager).getPositionForScrollDistance(distance);
+    }
+
+    @Nullable
+    @Override
+    protected RecyclerView.SmoothScroller createScroller(RecyclerView.LayoutManager layoutManager) {
+        if (!(layoutManager instanceof WheelLayoutManager) || mRecyclerView == null) {
+            return null;
+        }
+        return new WheelSmoothScroller(mRecyclerView, mVelocityY);
+    }
+}
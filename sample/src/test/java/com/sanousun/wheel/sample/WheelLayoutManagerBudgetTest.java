@@ -0,0 +1,136 @@
+package com.sanousun.wheel.sample;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.sanousun.wheel.core.WheelPhysics;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * WheelLayoutManager 在 fling 过程中每一帧的布局预算，超出预算时测试失败
+ * 按 {@link WheelPhysics} 的匀减速模型逐帧调用 scrollBy，先完整地 fling 一次让回收池稳定，
+ * 再反方向 fling 统计每一帧创建、绑定的 item 以及同时存在的子 View
+ */
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class WheelLayoutManagerBudgetTest {
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 600;
+    private static final int ITEM_HEIGHT = 60;
+    private static final int ITEM_COUNT = 1000;
+    private static final long FRAME_INTERVAL_NANOS = 16666667L;
+
+    private RecyclerView mRecyclerView;
+    private CountingAdapter mAdapter;
+    private int mFrameCount;
+    private int mMaxChildCount;
+
+    @Before
+    public void setUp() {
+        WheelLayoutManager layoutManager = new WheelLayoutManager();
+        layoutManager.setItemHeight(ITEM_HEIGHT);
+        mRecyclerView = new RecyclerView(RuntimeEnvironment.application);
+        mRecyclerView.setLayoutManager(layoutManager);
+        mAdapter = new CountingAdapter();
+        mRecyclerView.setAdapter(mAdapter);
+        mRecyclerView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mRecyclerView.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void flingStaysWithinBudget() {
+        int velocity = mRecyclerView.getMaxFlingVelocity() / 2;
+        fling(velocity);
+        mAdapter.reset();
+        mFrameCount = 0;
+        mMaxChildCount = 0;
+
+        fling(-velocity);
+        assertTrue("frames: " + mFrameCount, mFrameCount > 1);
+        assertTrue("items bound: " + mAdapter.mBindCount, mAdapter.mBindCount > 0);
+        // 曲面展开后的高度内可以显示的 item，上下各多一个半露出的
+        int maxChildren = (int) Math.ceil(HEIGHT * Math.PI / 2 / ITEM_HEIGHT) + 2;
+        assertTrue("max children " + mMaxChildCount + " > " + maxChildren, mMaxChildCount <= maxChildren);
+        // 回收池已经稳定，反方向 fling 不需要创建新的 View
+        assertEquals(0, mAdapter.mCreateCount);
+    }
+
+    /**
+     * 按 fling 的匀减速模型逐帧滚动到停止，每一帧只有新进入显示区域的 item 需要绑定
+     */
+    private void fling(int velocity) {
+        float deceleration = WheelSmoothScroller.DECELERATION_DP
+                * mRecyclerView.getResources().getDisplayMetrics().density;
+        int distance = WheelPhysics.getFlingDistance(velocity, deceleration);
+        long duration = WheelPhysics.getDurationNanos(distance, velocity, deceleration);
+        int scrolled = 0;
+        for (long time = FRAME_INTERVAL_NANOS; scrolled != distance; time += FRAME_INTERVAL_NANOS) {
+            int target = getFlingOffset(distance, time, duration);
+            int dy = target - scrolled;
+            int bindCount = mAdapter.mBindCount;
+            mRecyclerView.scrollBy(0, dy);
+            scrolled = target;
+            mFrameCount++;
+
+            int binds = mAdapter.mBindCount - bindCount;
+            int newItems = (int) Math.ceil((double) Math.abs(dy) / ITEM_HEIGHT) + 1;
+            assertTrue("frame " + mFrameCount + " bound " + binds + " items for dy " + dy,
+                    binds <= newItems);
+            mMaxChildCount = Math.max(mMaxChildCount, mRecyclerView.getChildCount());
+        }
+    }
+
+    private static int getFlingOffset(int distance, long time, long duration) {
+        if (time >= duration) {
+            return distance;
+        }
+        return Math.round(distance * WheelPhysics.getOffsetFraction((float) time / duration));
+    }
+
+    /**
+     * 固定高度、绑定时不做任何事的 item，统计创建与绑定的次数
+     */
+    private static class CountingAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+        int mCreateCount;
+        int mBindCount;
+
+        void reset() {
+            mCreateCount = 0;
+            mBindCount = 0;
+        }
+
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            mCreateCount++;
+            View view = new View(parent.getContext());
+            view.setLayoutParams(new RecyclerView.LayoutParams(
+                    RecyclerView.LayoutParams.MATCH_PARENT, ITEM_HEIGHT));
+            return new RecyclerView.ViewHolder(view) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+            mBindCount++;
+        }
+
+        @Override
+        public int getItemCount() {
+            return ITEM_COUNT;
+        }
+    }
+}
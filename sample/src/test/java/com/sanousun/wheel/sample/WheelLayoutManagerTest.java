@@ -0,0 +1,173 @@
+package com.sanousun.wheel.sample;
+
+import android.app.Activity;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowChoreographer;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * WheelLayoutManager 按声明的高度估算布局，显示出来的 item 实际高度不一致时，
+ * 修正之后显示的 item 仍然正好铺满滚轮曲面；
+ * 平滑滚动到很远的 item 时只通过滚动完成，不会重新布局，只有最后几个 item 参与动画
+ */
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class WheelLayoutManagerTest {
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 600;
+    private static final int ITEM_HEIGHT = 60;
+    private static final int ITEM_COUNT = 1000;
+    private static final int FRAME_INTERVAL_MILLIS = 16;
+    private static final int MAX_FRAMES = 600;
+
+    private RecyclerView mRecyclerView;
+    private WheelLayoutManager mLayoutManager;
+
+    @After
+    public void tearDown() {
+        ShadowChoreographer.setPostCallbackDelay(0);
+    }
+
+    @Test
+    public void shorterItemsFillCurve() {
+        setUp(ITEM_HEIGHT / 2);
+        assertFillsCurve(ITEM_HEIGHT / 2);
+
+        mRecyclerView.scrollBy(0, ITEM_HEIGHT * 20);
+        assertFillsCurve(ITEM_HEIGHT / 2);
+    }
+
+    @Test
+    public void tallerItemsAreNotKeptAttached() {
+        setUp(ITEM_HEIGHT * 2);
+        assertFillsCurve(ITEM_HEIGHT * 2);
+
+        mRecyclerView.scrollBy(0, ITEM_HEIGHT * 20);
+        assertFillsCurve(ITEM_HEIGHT * 2);
+    }
+
+    @Test
+    public void smoothScrollFarAwayOnlyAnimatesLastItems() {
+        Activity activity = Robolectric.setupActivity(Activity.class);
+        CountingLayoutManager layoutManager = new CountingLayoutManager();
+        layoutManager.setItemHeight(ITEM_HEIGHT);
+        FixedHeightAdapter adapter = new FixedHeightAdapter(ITEM_HEIGHT);
+        mRecyclerView = new RecyclerView(activity);
+        mRecyclerView.setLayoutManager(layoutManager);
+        mRecyclerView.setAdapter(adapter);
+        activity.setContentView(mRecyclerView);
+        ShadowLooper.idleMainLooper();
+        // 动画回调按帧间隔执行，时钟前进一帧只运行一帧
+        ShadowChoreographer.setPostCallbackDelay(FRAME_INTERVAL_MILLIS);
+        assertEquals(0, layoutManager.getCenterPosition());
+        int childCount = mRecyclerView.getChildCount();
+        layoutManager.mLayoutCount = 0;
+        adapter.mBindCount = 0;
+
+        int target = ITEM_COUNT / 2;
+        mRecyclerView.smoothScrollToPosition(target);
+        int frames = 0;
+        while (mRecyclerView.getScrollState() != RecyclerView.SCROLL_STATE_IDLE
+                || layoutManager.isSmoothScrolling()) {
+            assertTrue("scroll did not stop in " + MAX_FRAMES + " frames", frames++ < MAX_FRAMES);
+            ShadowLooper.idleMainLooper(FRAME_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        assertEquals(0, layoutManager.mLayoutCount);
+        // 跳到目标附近时重新绑定一屏的 item，之后的动画只经过最后几个 item，上下各多一个半露出的
+        int maxBinds = childCount + WheelSmoothScroller.MAX_ANIMATED_ITEMS + 2;
+        assertTrue("bound " + adapter.mBindCount + " > " + maxBinds, adapter.mBindCount <= maxBinds);
+        assertEquals(target, layoutManager.getCenterPosition());
+        assertEquals(0, layoutManager.getScrollDistanceForPosition(target));
+    }
+
+    private void setUp(int actualHeight) {
+        mLayoutManager = new WheelLayoutManager();
+        mLayoutManager.setItemHeight(ITEM_HEIGHT);
+        mRecyclerView = new RecyclerView(RuntimeEnvironment.application);
+        mRecyclerView.setLayoutManager(mLayoutManager);
+        mRecyclerView.setAdapter(new FixedHeightAdapter(actualHeight));
+        mRecyclerView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mRecyclerView.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    /**
+     * 子 View 连续排列，数量正好是按实际高度铺满曲面展开后的高度需要的数量
+     */
+    private void assertFillsCurve(int actualHeight) {
+        int childCount = mRecyclerView.getChildCount();
+        double curve = HEIGHT * Math.PI / 2;
+        int minChildren = (int) Math.floor(curve / actualHeight);
+        int maxChildren = (int) Math.ceil(curve / actualHeight) + 1;
+        assertTrue("children " + childCount + " < " + minChildren, childCount >= minChildren);
+        assertTrue("children " + childCount + " > " + maxChildren, childCount <= maxChildren);
+        int first = mLayoutManager.getPosition(mRecyclerView.getChildAt(0));
+        for (int i = 1; i < childCount; i++) {
+            assertEquals(first + i, mLayoutManager.getPosition(mRecyclerView.getChildAt(i)));
+        }
+        int center = mLayoutManager.getCenterPosition();
+        assertTrue("center " + center + " not in [" + first + ", " + (first + childCount - 1) + "]",
+                center >= first && center < first + childCount);
+    }
+
+    /**
+     * 统计重新布局的次数
+     */
+    private static class CountingLayoutManager extends WheelLayoutManager {
+
+        int mLayoutCount;
+
+        @Override
+        public void onLayoutChildren(RecyclerView.Recycler recycler, RecyclerView.State state) {
+            mLayoutCount++;
+            super.onLayoutChildren(recycler, state);
+        }
+    }
+
+    private static class FixedHeightAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+        private final int mHeight;
+        int mBindCount;
+
+        FixedHeightAdapter(int height) {
+            mHeight = height;
+        }
+
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            View view = new View(parent.getContext());
+            view.setLayoutParams(new RecyclerView.LayoutParams(
+                    RecyclerView.LayoutParams.MATCH_PARENT, mHeight));
+            return new RecyclerView.ViewHolder(view) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+            mBindCount++;
+        }
+
+        @Override
+        public int getItemCount() {
+            return ITEM_COUNT;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.sanousun.wheel.sample;
+
+import android.app.Activity;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowChoreographer;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * WheelSnapHelper 的 fling 吸附，逐帧运行到 fling 停止：
+ * 整个 fling 只有一次滚动，停止时 fling 开始时确定的目标 item 正好在滚轮中心，不需要再吸附一次
+ */
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class WheelSnapHelperTest {
+
+    private static final int ITEM_COUNT = 1000;
+    private static final int FRAME_INTERVAL_MILLIS = 16;
+    /**
+     * 逐帧运行的上限，fling 在这之前没有停止时测试失败
+     */
+    private static final int MAX_FRAMES = 600;
+
+    private RecyclerView mRecyclerView;
+    private WheelLayoutManager mLayoutManager;
+    private RecordingSnapHelper mSnapHelper;
+    private int mSettlingCount;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.setupActivity(Activity.class);
+        mRecyclerView = new RecyclerView(activity);
+        mLayoutManager = new WheelLayoutManager();
+        mRecyclerView.setLayoutManager(mLayoutManager);
+        mRecyclerView.setAdapter(new TextAdapter());
+        mSnapHelper = new RecordingSnapHelper();
+        mSnapHelper.attachToRecyclerView(mRecyclerView);
+        mRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+                if (newState == RecyclerView.SCROLL_STATE_SETTLING) {
+                    mSettlingCount++;
+                }
+            }
+        });
+        activity.setContentView(mRecyclerView);
+        ShadowLooper.idleMainLooper();
+        // 动画回调按帧间隔执行，时钟前进一帧只运行一帧
+        ShadowChoreographer.setPostCallbackDelay(FRAME_INTERVAL_MILLIS);
+    }
+
+    @After
+    public void tearDown() {
+        ShadowChoreographer.setPostCallbackDelay(0);
+    }
+
+    @Test
+    public void flingStopsOnTargetWithOneScroller() {
+        int velocity = mRecyclerView.getMaxFlingVelocity() / 2;
+        assertFlingSettles(velocity);
+        assertFlingSettles(-velocity / 2);
+    }
+
+    private void assertFlingSettles(int velocity) {
+        mSnapHelper.mCreateCount = 0;
+        mSettlingCount = 0;
+
+        assertTrue(mRecyclerView.fling(0, velocity));
+        int frames = 0;
+        while (mRecyclerView.getScrollState() != RecyclerView.SCROLL_STATE_IDLE
+                || mLayoutManager.isSmoothScrolling()) {
+            assertTrue("fling did not stop in " + MAX_FRAMES + " frames", frames++ < MAX_FRAMES);
+            ShadowLooper.idleMainLooper(FRAME_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue("frames: " + frames, frames > 1);
+        assertEquals(1, mSnapHelper.mCreateCount);
+        assertEquals(1, mSettlingCount);
+        int center = mLayoutManager.getCenterPosition();
+        assertEquals(mSnapHelper.mScroller.getTargetPosition(), center);
+        assertEquals(0, mLayoutManager.getScrollDistanceForPosition(center));
+    }
+
+    /**
+     * 记录最近一次创建的滚动
+     */
+    private static class RecordingSnapHelper extends WheelSnapHelper {
+
+        WheelSmoothScroller mScroller;
+        int mCreateCount;
+
+        @Override
+        protected RecyclerView.SmoothScroller createScroller(RecyclerView.LayoutManager layoutManager) {
+            mCreateCount++;
+            mScroller = (WheelSmoothScroller) super.createScroller(layoutManager);
+            return mScroller;
+        }
+    }
+
+    private static class TextAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            return new RecyclerView.ViewHolder(new TextView(parent.getContext())) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+            ((TextView) holder.itemView).setText("item " + position);
+        }
+
+        @Override
+        public int getItemCount() {
+            return ITEM_COUNT;
+        }
+    }
+}
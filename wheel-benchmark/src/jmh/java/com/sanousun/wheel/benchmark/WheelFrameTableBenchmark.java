@@ -0,0 +1,97 @@
+package com.sanousun.wheel.benchmark;
+
+import com.sanousun.wheel.core.WheelFrameTable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+
+/**
+ * WheelLayoutManager 的布局查找：中心位置对应的下标，以及每次滚动时可见区域的范围
+ * 以及新的 item 测量后修正高度的开销
+ * item 高度由固定的种子生成，模拟高度不一的 item
+ */
+
+@State(Scope.Thread)
+public class WheelFrameTableBenchmark {
+
+    private static final long SEED = 20171010L;
+    private static final int OFFSET_COUNT = 1024;
+    private static final int MIN_ITEM_HEIGHT = 40;
+    private static final int MAX_ITEM_HEIGHT = 60;
+    /**
+     * 滚轮曲面上可见区域的高度，约为 600px 高的 RecyclerView 的半个周长
+     */
+    private static final int DISPLAY_HEIGHT = 942;
+
+    @Param({"10", "10000", "1000000"})
+    public int itemCount;
+
+    private final WheelFrameTable mFrames = new WheelFrameTable();
+    private int[] mOffsets;
+    /**
+     * 修正高度的 item 下标以及新的高度
+     */
+    private int[] mPositions;
+    private int[] mHeights;
+    private int mCursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+        mFrames.reset(itemCount);
+        int top = 0;
+        for (int i = 0; i < itemCount; i++) {
+            int height = MIN_ITEM_HEIGHT + random.nextInt(MAX_ITEM_HEIGHT - MIN_ITEM_HEIGHT + 1);
+            mFrames.setFrame(i, top, height);
+            top += height;
+        }
+        mOffsets = new int[OFFSET_COUNT];
+        for (int i = 0; i < OFFSET_COUNT; i++) {
+            mOffsets[i] = random.nextInt(top);
+        }
+        mPositions = new int[OFFSET_COUNT];
+        mHeights = new int[OFFSET_COUNT];
+        for (int i = 0; i < OFFSET_COUNT; i++) {
+            mPositions[i] = random.nextInt(itemCount);
+            mHeights[i] = MIN_ITEM_HEIGHT + random.nextInt(MAX_ITEM_HEIGHT - MIN_ITEM_HEIGHT + 1);
+        }
+    }
+
+    @Benchmark
+    public int positionForOffset() {
+        return mFrames.getPositionForOffset(nextOffset());
+    }
+
+    /**
+     * 与 recycleAndFillItems 一致，二分查找可见区域的范围后逐个取出
+     */
+    @Benchmark
+    public void visibleFrames(Blackhole blackhole) {
+        int displayTop = nextOffset();
+        int displayBottom = displayTop + DISPLAY_HEIGHT;
+        int last = mFrames.getLastIntersecting(displayBottom);
+        for (int i = mFrames.getFirstIntersecting(displayTop); i <= last; i++) {
+            blackhole.consume(i);
+        }
+    }
+
+    /**
+     * 与 recycleAndFillItems 一致，新进入屏幕的 item 按测量的高度修正，后面的 item 跟着移动
+     */
+    @Benchmark
+    public int setHeight() {
+        mCursor = (mCursor + 1) & (OFFSET_COUNT - 1);
+        return mFrames.setHeight(mPositions[mCursor], mHeights[mCursor]);
+    }
+
+    private int nextOffset() {
+        mCursor = (mCursor + 1) & (OFFSET_COUNT - 1);
+        return mOffsets[mCursor];
+    }
+}
@@ -0,0 +1,83 @@
+package com.sanousun.wheel.benchmark;
+
+import com.sanousun.wheel.core.WheelMath;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 偏移量到下标的换算以及每一帧可见窗口内的文字查找
+ * 偏移量序列由固定的种子生成，保证每次运行的输入一致
+ */
+
+@State(Scope.Thread)
+public class WheelIndexBenchmark {
+
+    private static final long SEED = 20171010L;
+    private static final int OFFSET_COUNT = 1024;
+    private static final int ITEM_HEIGHT = 45;
+    private static final int VISIBLE_ITEM_COUNT = 7;
+
+    @Param({"10", "10000", "1000000"})
+    public int itemCount;
+
+    @Param({"false", "true"})
+    public boolean cyclic;
+
+    private List<String> mTexts;
+    private int[] mOffsets;
+    private int mCursor;
+
+    @Setup
+    public void setUp() {
+        mTexts = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            mTexts.add(String.valueOf(i));
+        }
+        // 覆盖范围前后各一圈，包含负数偏移
+        Random random = new Random(SEED);
+        long range = (long) itemCount * ITEM_HEIGHT;
+        mOffsets = new int[OFFSET_COUNT];
+        for (int i = 0; i < OFFSET_COUNT; i++) {
+            mOffsets[i] = (int) ((random.nextDouble() * 3 - 1) * range);
+        }
+    }
+
+    @Benchmark
+    public int indexForOffset() {
+        return WheelMath.getIndexForOffset(nextOffset(), ITEM_HEIGHT, itemCount, cyclic);
+    }
+
+    @Benchmark
+    public int snapOffset() {
+        return WheelMath.getSnapOffset(nextOffset(), ITEM_HEIGHT, itemCount, cyclic);
+    }
+
+    /**
+     * 与 onDraw 一致：收敛偏移量，算出选中的下标，再取出每个槽位的文字
+     */
+    @Benchmark
+    public void textWindow(Blackhole blackhole) {
+        int offset = WheelMath.clampOffset(nextOffset(), ITEM_HEIGHT, itemCount, cyclic);
+        int currentIndex = WheelMath.getIndexForOffset(offset, ITEM_HEIGHT, itemCount, cyclic);
+        for (int i = 0; i <= VISIBLE_ITEM_COUNT; i++) {
+            int position = WheelMath.getItemPosition(i, currentIndex, VISIBLE_ITEM_COUNT, itemCount, cyclic);
+            if (position >= 0) {
+                blackhole.consume(mTexts.get(position));
+            }
+        }
+    }
+
+    private int nextOffset() {
+        mCursor = (mCursor + 1) & (OFFSET_COUNT - 1);
+        return mOffsets[mCursor];
+    }
+}
@@ -0,0 +1,85 @@
+package com.sanousun.wheel.benchmark;
+
+import com.sanousun.wheel.core.WheelGeometry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * onDraw 中每个槽位的投影计算
+ * lookup 为当前查表的实现，trigonometry 为查表之前每一帧计算三角函数的实现，作为对照
+ */
+
+@State(Scope.Thread)
+public class WheelProjectionBenchmark {
+
+    /**
+     * 滚轮的直径，px
+     */
+    private static final int DIAMETER = 600;
+
+    @Param({"5", "7", "9"})
+    public int visibleItemCount;
+
+    private final WheelGeometry mGeometry = new WheelGeometry();
+    private double mRadius;
+    private double mItemAngle;
+    private int mItemHeight;
+    /**
+     * 每次调用推进的偏移量，模拟滚动中的连续帧
+     */
+    private int mOffset;
+
+    @Setup
+    public void setUp() {
+        mItemAngle = WheelGeometry.getItemAngle(visibleItemCount);
+        mItemHeight = WheelGeometry.getItemHeight(DIAMETER, mItemAngle);
+        mRadius = DIAMETER / 2.0;
+        mGeometry.build(mRadius, mItemAngle, mItemHeight, visibleItemCount);
+    }
+
+    @Benchmark
+    public void lookup(Blackhole blackhole) {
+        int itemOffset = nextItemOffset();
+        for (int i = 0; i <= visibleItemCount; i++) {
+            blackhole.consume(mGeometry.getSlotHeight(itemOffset, i));
+            blackhole.consume(mGeometry.getScaleY(itemOffset, i));
+            blackhole.consume(mGeometry.getLocationY(itemOffset, i));
+        }
+    }
+
+    @Benchmark
+    public void trigonometry(Blackhole blackhole) {
+        int itemOffset = nextItemOffset();
+        double offsetAngle = -(mItemAngle * (itemOffset * 1.0 / mItemHeight));
+        for (int i = 0; i <= visibleItemCount; i++) {
+            double angle0 = Math.max(0, i * mItemAngle + offsetAngle);
+            double angle1 = Math.min(Math.PI, (i + 1) * mItemAngle + offsetAngle);
+            float slotHeight = (float) ((Math.cos(angle0) - Math.cos(angle1)) * mRadius);
+            float scaleY = slotHeight / mItemHeight;
+            int itemY = (int) ((1 - Math.cos(angle0)) * mRadius + slotHeight / 2);
+            blackhole.consume(slotHeight);
+            blackhole.consume(scaleY);
+            blackhole.consume((int) (itemY / scaleY));
+        }
+    }
+
+    /**
+     * 尺寸改变时重新构建整张表的开销
+     */
+    @Benchmark
+    public WheelGeometry build() {
+        WheelGeometry geometry = new WheelGeometry();
+        geometry.build(mRadius, mItemAngle, mItemHeight, visibleItemCount);
+        return geometry;
+    }
+
+    private int nextItemOffset() {
+        mOffset = mOffset + 7 < mItemHeight ? mOffset + 7 : 0;
+        return mOffset;
+    }
+}
@@ -0,0 +1,36 @@
+package com.sanousun.wheel.core;
+
+/**
+ * 平铺的列表卷到滚轮曲面上的换算，供 LayoutManager 将 item 摆放到曲面上
+ * 以 item 中心到可见区域中心的弧长为参数，得到在滚轮上的位置以及缩放比例
+ */
+
+public final class WheelCurve {
+
+    private WheelCurve() {
+    }
+
+    /**
+     * 弧长对应的圆心角
+     *
+     * @param distance 弧长，带方向，向上为正
+     * @param radius   滚轮半径
+     */
+    public static double getArc(double distance, double radius) {
+        return distance / radius;
+    }
+
+    /**
+     * 曲面上的点投影后到滚轮顶部的距离
+     */
+    public static double getProjectedY(double arc, double radius) {
+        return (1 - Math.sin(arc)) * radius;
+    }
+
+    /**
+     * 曲面上的 item 投影后竖直方向的缩放比例
+     */
+    public static float getScale(double arc) {
+        return (float) Math.cos(arc);
+    }
+}
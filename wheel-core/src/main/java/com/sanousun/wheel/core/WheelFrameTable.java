@@ -0,0 +1,182 @@
+package com.sanousun.wheel.core;
+
+/**
+ * 平铺状态下每个 item 的布局信息，供 LayoutManager 查找位置以及可见的 item
+ * item 的高度保存在树状数组（Fenwick tree）中，每个 item 只需要一个 int：
+ * 第 i 个节点保存 (i - lowbit(i), i] 这一段 item 的高度之和，第 i 个 item 占据 [getTop(i), getBottom(i))
+ * 测量后修正一个 item 的高度只需要更新 O(log n) 个节点，不需要移动后面所有 item 的位置；
+ * 顶部位置通过 O(log n) 的前缀和得到，中心位置与可见区域在树上逐层查找，同样是 O(log n)
+ */
+
+public final class WheelFrameTable {
+
+    private int mCount;
+    /**
+     * 从 1 开始的树状数组，长度至少为 mCount + 1，第 0 个元素不使用
+     */
+    private int[] mTree = new int[1];
+
+    /**
+     * 重新设置 item 的数量，数组只会扩容不会缩小
+     * 之后需要通过 {@link #setFrame(int, int, int)} 按顺序设置所有 item
+     */
+    public void reset(int count) {
+        if (mTree.length < count + 1) {
+            mTree = new int[count + 1];
+        }
+        mCount = count;
+    }
+
+    /**
+     * 按统一的高度排列所有 item，不需要逐个测量
+     * 实际高度不一致的 item 在测量之后通过 {@link #setHeight(int, int)} 修正
+     */
+    public void reset(int count, int itemHeight) {
+        reset(count);
+        for (int i = 1; i <= count; i++) {
+            mTree[i] = (i & -i) * itemHeight;
+        }
+    }
+
+    public int getCount() {
+        return mCount;
+    }
+
+    /**
+     * 从第一个 item 开始按顺序设置，top 需要等于前一个 item 的底部
+     * 节点覆盖的前面的 item 都已经设置，由前缀和直接得到节点的值
+     */
+    public void setFrame(int position, int top, int height) {
+        int node = position + 1;
+        mTree[node] = top + height - getTop(node - (node & -node));
+    }
+
+    /**
+     * 修正 item 的高度，后面的 item 跟着移动，只需要更新覆盖这个 item 的节点
+     *
+     * @return 高度的变化量
+     */
+    public int setHeight(int position, int height) {
+        int delta = height - getHeight(position);
+        if (delta == 0) {
+            return 0;
+        }
+        for (int i = position + 1; i <= mCount; i += i & -i) {
+            mTree[i] += delta;
+        }
+        return delta;
+    }
+
+    /**
+     * 前面所有 item 的高度之和
+     */
+    public int getTop(int position) {
+        int top = 0;
+        for (int i = position; i > 0; i -= i & -i) {
+            top += mTree[i];
+        }
+        return top;
+    }
+
+    public int getBottom(int position) {
+        return getTop(position + 1);
+    }
+
+    /**
+     * 节点的值减去同一段中前面 item 的高度，只需要走到这一段的起点，不需要两次完整的前缀和
+     */
+    public int getHeight(int position) {
+        int node = position + 1;
+        int height = mTree[node];
+        int stop = node - (node & -node);
+        for (int i = node - 1; i > stop; i -= i & -i) {
+            height -= mTree[i];
+        }
+        return height;
+    }
+
+    /**
+     * 所有 item 的总高度
+     */
+    public int getTotalHeight() {
+        return getTop(mCount);
+    }
+
+    /**
+     * item 中心的位置
+     */
+    public int getCenter(int position) {
+        return getTop(position) + getHeight(position) / 2;
+    }
+
+    /**
+     * 包含该位置的 item 下标，小于 0 时返回第一个，超出时返回最后一个
+     * 位置正好在两个 item 的交界时返回上面的 item
+     */
+    public int getPositionForOffset(int offset) {
+        int index = Math.max(1, lowerBound(offset));
+        return Math.min(index, mCount) - 1;
+    }
+
+    /**
+     * 与 [top, bottom) 的区域相交的第一个 item，没有时返回 {@link #getCount()}
+     */
+    public int getFirstIntersecting(int top) {
+        return Math.max(1, upperBound(top)) - 1;
+    }
+
+    /**
+     * 与 [top, bottom) 的区域相交的最后一个 item，没有时返回 -1
+     */
+    public int getLastIntersecting(int bottom) {
+        return Math.min(lowerBound(bottom), mCount) - 1;
+    }
+
+    /**
+     * item 是否与 [top, bottom) 的区域相交，与 Rect.intersects 的竖直方向一致
+     */
+    public boolean intersects(int position, int top, int bottom) {
+        int itemTop = getTop(position);
+        return top < itemTop + getHeight(position) && itemTop < bottom;
+    }
+
+    /**
+     * 第一个不小于 value 的顶部位置的下标，都小于时返回 mCount + 1
+     */
+    private int lowerBound(int value) {
+        if (value <= 0) {
+            return 0;
+        }
+        // 前缀和小于 value 的最后一个下标，高度不为负，前缀和单调不减
+        int index = 0;
+        int sum = 0;
+        for (int step = Integer.highestOneBit(mCount); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next <= mCount && sum + mTree[next] < value) {
+                index = next;
+                sum += mTree[next];
+            }
+        }
+        return index + 1;
+    }
+
+    /**
+     * 第一个大于 value 的顶部位置的下标，都不大于时返回 mCount + 1
+     */
+    private int upperBound(int value) {
+        if (value < 0) {
+            return 0;
+        }
+        // 前缀和不大于 value 的最后一个下标
+        int index = 0;
+        int sum = 0;
+        for (int step = Integer.highestOneBit(mCount); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next <= mCount && sum + mTree[next] <= value) {
+                index = next;
+                sum += mTree[next];
+            }
+        }
+        return index + 1;
+    }
+}
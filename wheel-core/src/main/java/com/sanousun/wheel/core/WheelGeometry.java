@@ -0,0 +1,127 @@
+package com.sanousun.wheel.core;
+
+/**
+ * 滚轮投影的几何缓存
+ * 绘制结果只和 itemOffset 相关，在 onMeasure 时预先计算出每个像素偏移下各个槽位的高度、缩放值以及位置，
+ * 绘制时只需要查表，不再需要三角函数运算
+ * 同时提供滚轮直径与 item 高度之间的换算，不依赖 Android，可以在 JVM 上直接运行
+ */
+
+public final class WheelGeometry {
+
+    private double mRadius;
+    private double mItemAngle;
+    private int mItemHeight;
+    /**
+     * 槽位数量，mVisibleItemCount + 1
+     */
+    private int mSlotCount;
+
+    /**
+     * 槽位在滚轮上的实际高度，下标为 itemOffset * mSlotCount + slot
+     */
+    private float[] mSlotHeights;
+    /**
+     * 槽位的缩放值
+     */
+    private float[] mScales;
+    /**
+     * 缩放前槽位中心的位置
+     */
+    private int[] mLocations;
+
+    /**
+     * 每个 item 在滚轮上对应的角度，可见的 item 平分半个圆周
+     */
+    public static double getItemAngle(int visibleItemCount) {
+        return Math.PI / visibleItemCount;
+    }
+
+    /**
+     * 直径已知时推导 item 的高度，即 item 角度对应的弦长
+     */
+    public static int getItemHeight(double diameter, double itemAngle) {
+        return (int) (diameter / 2 * Math.sin(itemAngle / 2) * 2);
+    }
+
+    /**
+     * item 高度已知时推导滚轮的直径
+     */
+    public static double getDiameter(int itemHeight, double itemAngle) {
+        return itemHeight / 2 / Math.sin(itemAngle / 2) * 2;
+    }
+
+    /**
+     * 根据测量的结果构建缓存，参数未改变时不会重复计算
+     */
+    public void build(double radius, double itemAngle, int itemHeight, int visibleItemCount) {
+        int slotCount = visibleItemCount + 1;
+        if (itemHeight <= 0) {
+            return;
+        }
+        if (mRadius == radius && mItemAngle == itemAngle
+                && mItemHeight == itemHeight && mSlotCount == slotCount) {
+            return;
+        }
+        mRadius = radius;
+        mItemAngle = itemAngle;
+        mItemHeight = itemHeight;
+        mSlotCount = slotCount;
+        int size = itemHeight * slotCount;
+        if (mSlotHeights == null || mSlotHeights.length != size) {
+            mSlotHeights = new float[size];
+            mScales = new float[size];
+            mLocations = new int[size];
+        }
+        for (int itemOffset = 0; itemOffset < itemHeight; itemOffset++) {
+            double offsetAngle = -(itemAngle * (itemOffset * 1.0 / itemHeight));
+            for (int i = 0; i < slotCount; i++) {
+                // 计算顶部的角度
+                double angle0 = i * itemAngle + offsetAngle;
+                if (angle0 < 0) {
+                    angle0 = 0;
+                }
+                // 计算底部的角度
+                double angle1 = (i + 1) * itemAngle + offsetAngle;
+                if (angle1 > Math.PI) {
+                    angle1 = Math.PI;
+                }
+                // 计算出该 item 的实际高度
+                float slotHeight = (float) ((Math.cos(angle0) - Math.cos(angle1)) * radius);
+                // 计算出一个缩放值
+                float scaleY = slotHeight / itemHeight;
+                // 这里的高度是折叠前的
+                int itemY = (int) ((1 - Math.cos(angle0)) * radius + slotHeight / 2);
+                int index = itemOffset * slotCount + i;
+                mSlotHeights[index] = slotHeight;
+                mScales[index] = scaleY;
+                mLocations[index] = (int) (itemY / scaleY);
+            }
+        }
+    }
+
+    public int getSlotCount() {
+        return mSlotCount;
+    }
+
+    /**
+     * 获取槽位在滚轮上的实际高度
+     */
+    public float getSlotHeight(int itemOffset, int slot) {
+        return mSlotHeights[itemOffset * mSlotCount + slot];
+    }
+
+    /**
+     * 获取槽位的缩放值
+     */
+    public float getScaleY(int itemOffset, int slot) {
+        return mScales[itemOffset * mSlotCount + slot];
+    }
+
+    /**
+     * 获取槽位缩放前的中心位置
+     */
+    public int getLocationY(int itemOffset, int slot) {
+        return mLocations[itemOffset * mSlotCount + slot];
+    }
+}
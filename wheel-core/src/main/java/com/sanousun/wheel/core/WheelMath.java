@@ -0,0 +1,93 @@
+package com.sanousun.wheel.core;
+
+/**
+ * 滚轮偏移量与下标之间的换算，结果始终向下取整，负数偏移在循环模式下也能得到正确的下标
+ * Math.floorMod 需要 API 24，这里自己实现
+ */
+
+public final class WheelMath {
+
+    private WheelMath() {
+    }
+
+    public static int floorDiv(int x, int y) {
+        int r = x / y;
+        if ((x % y != 0) && ((x ^ y) < 0)) {
+            r--;
+        }
+        return r;
+    }
+
+    public static int floorMod(int x, int y) {
+        return x - floorDiv(x, y) * y;
+    }
+
+    /**
+     * 偏移量的最大值，即最后一个 item 选中时的偏移量
+     */
+    public static int getMaxOffset(int itemHeight, int count) {
+        return Math.max(0, (count - 1) * itemHeight);
+    }
+
+    /**
+     * 非循环模式下将偏移量限制在数据范围内
+     */
+    public static int clampOffset(int offset, int itemHeight, int count, boolean cyclic) {
+        if (cyclic) {
+            return offset;
+        }
+        return Math.max(0, Math.min(offset, getMaxOffset(itemHeight, count)));
+    }
+
+    /**
+     * 偏移量对应的下标，循环模式下对数据数量取模
+     */
+    public static int getIndexForOffset(int offset, int itemHeight, int count, boolean cyclic) {
+        int index = floorDiv(offset, itemHeight);
+        if (cyclic) {
+            return floorMod(index, count);
+        }
+        return Math.max(0, Math.min(index, count - 1));
+    }
+
+    /**
+     * 偏移量对齐到最近的 item，非循环模式下限制在数据范围内
+     */
+    public static int getSnapOffset(int offset, int itemHeight, int count, boolean cyclic) {
+        if (itemHeight <= 0) {
+            return offset;
+        }
+        // 超过 item 高度一半时对齐到下一个
+        int snapOffset = floorDiv(offset + itemHeight - itemHeight / 2, itemHeight) * itemHeight;
+        return clampOffset(snapOffset, itemHeight, count, cyclic);
+    }
+
+    /**
+     * 循环模式下将偏移量收敛到一圈以内，避免一直滚动导致溢出
+     */
+    public static int normalizeOffset(int offset, int itemHeight, int count, boolean cyclic) {
+        if (!cyclic || count <= 0) {
+            return offset;
+        }
+        return floorMod(offset, count * itemHeight);
+    }
+
+    /**
+     * 获取可见槽位上的数据下标，超出数据范围时返回 -1，循环模式下对数据数量取模
+     *
+     * @param slot             可见槽位，0..visibleItemCount
+     * @param currentIndex     当前选中的下标，位于中间的槽位
+     * @param visibleItemCount 可见的 item 数量
+     */
+    public static int getItemPosition(int slot, int currentIndex, int visibleItemCount,
+                                      int count, boolean cyclic) {
+        int itemPos = slot + currentIndex - visibleItemCount / 2;
+        if (cyclic) {
+            return floorMod(itemPos, count);
+        }
+        if (itemPos < 0 || itemPos > count - 1) {
+            return -1;
+        }
+        return itemPos;
+    }
+}
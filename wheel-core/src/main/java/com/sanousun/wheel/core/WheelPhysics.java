@@ -0,0 +1,86 @@
+package com.sanousun.wheel.core;
+
+/**
+ * 滚轮的减速模型
+ * 采用匀减速运动：给定初速度可以算出滑行距离，给定距离和初速度可以算出恰好停在终点的时长
+ * 位移曲线为 1 - (1 - t)^2，与 DecelerateInterpolator(1.0f) 一致
+ */
+
+public final class WheelPhysics {
+
+    /**
+     * 最短的滚动时长，避免距离很短时一帧就跳到终点
+     */
+    private static final double MIN_DURATION_SECONDS = 0.066;
+    /**
+     * 最长的滚动时长
+     */
+    private static final double MAX_DURATION_SECONDS = 1.5;
+
+    private WheelPhysics() {
+    }
+
+    /**
+     * 以初速度匀减速直至停止的滑行距离
+     *
+     * @param velocity     初速度，px/s，带方向
+     * @param deceleration 减速度，px/s²
+     * @return 滑行距离，带方向
+     */
+    public static int getFlingDistance(float velocity, float deceleration) {
+        double distance = (double) velocity * velocity / (2 * deceleration);
+        return (int) (velocity < 0 ? -distance : distance);
+    }
+
+    /**
+     * 匀减速恰好停在终点所需的时长
+     * 有同方向初速度时由初速度决定，否则视为从静止以减速度的大小加速后再减速
+     *
+     * @param distance     滚动距离，带方向
+     * @param velocity     初速度，px/s，带方向
+     * @param deceleration 减速度，px/s²
+     * @return 时长，纳秒
+     */
+    public static long getDurationNanos(int distance, float velocity, float deceleration) {
+        if (distance == 0) {
+            return 0;
+        }
+        double absDistance = Math.abs(distance);
+        double seconds;
+        if (velocity != 0 && (velocity > 0) == (distance > 0)) {
+            seconds = 2 * absDistance / Math.abs(velocity);
+        } else {
+            seconds = Math.sqrt(2 * absDistance / deceleration);
+        }
+        seconds = Math.max(MIN_DURATION_SECONDS, Math.min(seconds, MAX_DURATION_SECONDS));
+        return (long) (seconds * 1000000000L);
+    }
+
+    /**
+     * 匀减速过程中某一时刻的速度，用于中途修正终点时保持速度连续
+     *
+     * @param distance      滚动距离，带方向
+     * @param durationNanos 时长，纳秒
+     * @param elapsedNanos  已经经过的时长，纳秒
+     * @return 速度，px/s，带方向，已经停止时为 0
+     */
+    public static float getVelocity(int distance, long durationNanos, long elapsedNanos) {
+        if (durationNanos <= 0 || elapsedNanos >= durationNanos) {
+            return 0;
+        }
+        double remain = 1 - (double) Math.max(0, elapsedNanos) / durationNanos;
+        // 位移曲线 1 - (1 - t)^2 的导数为 2(1 - t)
+        return (float) (2 * distance * remain * 1000000000L / durationNanos);
+    }
+
+    /**
+     * 匀减速的位移比例
+     *
+     * @param fraction 时间比例，0..1
+     * @return 位移比例，0..1
+     */
+    public static float getOffsetFraction(float fraction) {
+        float remain = 1 - fraction;
+        return 1 - remain * remain;
+    }
+}
@@ -0,0 +1,35 @@
+package com.sanousun.wheel.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 平铺列表到滚轮曲面的换算
+ */
+
+public class WheelCurveTest {
+
+    private static final double RADIUS = 300;
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void arcOfQuarterCircumference() {
+        assertEquals(Math.PI / 2, WheelCurve.getArc(Math.PI * RADIUS / 2, RADIUS), DELTA);
+        assertEquals(-Math.PI / 2, WheelCurve.getArc(-Math.PI * RADIUS / 2, RADIUS), DELTA);
+    }
+
+    @Test
+    public void projectedYFromTopToBottom() {
+        assertEquals(RADIUS, WheelCurve.getProjectedY(0, RADIUS), DELTA);
+        assertEquals(0, WheelCurve.getProjectedY(Math.PI / 2, RADIUS), DELTA);
+        assertEquals(RADIUS * 2, WheelCurve.getProjectedY(-Math.PI / 2, RADIUS), DELTA);
+    }
+
+    @Test
+    public void scaleShrinksAwayFromCenter() {
+        assertEquals(1f, WheelCurve.getScale(0), 0f);
+        assertEquals(0.5f, WheelCurve.getScale(Math.PI / 3), 1e-6f);
+        assertEquals(0f, WheelCurve.getScale(Math.PI / 2), 1e-6f);
+    }
+}
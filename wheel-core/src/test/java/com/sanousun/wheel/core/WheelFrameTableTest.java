@@ -0,0 +1,134 @@
+package com.sanousun.wheel.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * item 布局信息的树状数组：前缀和、高度修正以及查找
+ */
+
+public class WheelFrameTableTest {
+
+    private static final int ITEM_HEIGHT = 10;
+    private static final int COUNT = 5;
+
+    @Test
+    public void emptyTable() {
+        WheelFrameTable table = new WheelFrameTable();
+        table.reset(0, ITEM_HEIGHT);
+        assertEquals(0, table.getCount());
+        assertEquals(0, table.getTotalHeight());
+        assertEquals(-1, table.getPositionForOffset(0));
+        assertEquals(-1, table.getPositionForOffset(100));
+        assertEquals(0, table.getFirstIntersecting(0));
+        assertEquals(-1, table.getLastIntersecting(100));
+    }
+
+    @Test
+    public void positionForOffset() {
+        WheelFrameTable table = new WheelFrameTable();
+        table.reset(COUNT, ITEM_HEIGHT);
+        assertEquals(0, table.getPositionForOffset(-100));
+        assertEquals(0, table.getPositionForOffset(0));
+        // 两个 item 的交界属于上面的 item
+        assertEquals(0, table.getPositionForOffset(10));
+        assertEquals(1, table.getPositionForOffset(11));
+        assertEquals(COUNT - 1, table.getPositionForOffset(50));
+        assertEquals(COUNT - 1, table.getPositionForOffset(1000));
+    }
+
+    @Test
+    public void intersectingRange() {
+        WheelFrameTable table = new WheelFrameTable();
+        table.reset(COUNT, ITEM_HEIGHT);
+        assertEquals(1, table.getFirstIntersecting(10));
+        assertEquals(1, table.getFirstIntersecting(15));
+        assertEquals(2, table.getLastIntersecting(30));
+        assertEquals(3, table.getLastIntersecting(31));
+        assertEquals(0, table.getFirstIntersecting(-100));
+        assertEquals(-1, table.getLastIntersecting(-100));
+        // 整个区域在最后一个 item 之后
+        assertEquals(COUNT, table.getFirstIntersecting(50));
+        assertEquals(COUNT - 1, table.getLastIntersecting(1000));
+    }
+
+    @Test
+    public void setHeightShiftsFollowingItems() {
+        WheelFrameTable table = new WheelFrameTable();
+        table.reset(COUNT, ITEM_HEIGHT);
+        assertEquals(20, table.setHeight(2, 30));
+        assertEquals(0, table.setHeight(2, 30));
+        assertEquals(-5, table.setHeight(4, 5));
+        assertEquals(20, table.getTop(2));
+        assertEquals(50, table.getBottom(2));
+        assertEquals(35, table.getCenter(2));
+        assertEquals(60, table.getTop(4));
+        assertEquals(65, table.getTotalHeight());
+        assertConsistent(table);
+        assertEquals(2, table.getPositionForOffset(49));
+        assertEquals(3, table.getPositionForOffset(51));
+    }
+
+    @Test
+    public void sequentialFrames() {
+        WheelFrameTable table = new WheelFrameTable();
+        table.reset(COUNT);
+        int top = 0;
+        for (int i = 0; i < COUNT; i++) {
+            table.setFrame(i, top, i + 1);
+            top += i + 1;
+        }
+        assertEquals(15, table.getTotalHeight());
+        assertConsistent(table);
+    }
+
+    @Test
+    public void randomCorrectionsMatchPrefixSums() {
+        int count = 100;
+        int[] heights = new int[count];
+        WheelFrameTable table = new WheelFrameTable();
+        table.reset(count, ITEM_HEIGHT);
+        Arrays.fill(heights, ITEM_HEIGHT);
+        Random random = new Random(1);
+        for (int n = 0; n < 500; n++) {
+            int position = random.nextInt(count);
+            int height = random.nextInt(3 * ITEM_HEIGHT);
+            assertEquals(height - heights[position], table.setHeight(position, height));
+            heights[position] = height;
+        }
+        int top = 0;
+        for (int i = 0; i < count; i++) {
+            assertEquals(top, table.getTop(i));
+            assertEquals(heights[i], table.getHeight(i));
+            top += heights[i];
+        }
+        assertEquals(top, table.getTotalHeight());
+        // 查找的结果与逐个比较一致
+        for (int offset = -1; offset <= top + 1; offset++) {
+            int position = 0;
+            while (position < count - 1 && heights[position] + table.getTop(position) < offset) {
+                position++;
+            }
+            assertEquals(position, table.getPositionForOffset(offset));
+            int first = 0;
+            while (first < count && table.getBottom(first) <= offset) {
+                first++;
+            }
+            assertEquals(first, table.getFirstIntersecting(offset));
+        }
+    }
+
+    private static void assertConsistent(WheelFrameTable table) {
+        int total = 0;
+        for (int i = 0; i < table.getCount(); i++) {
+            assertEquals(total, table.getTop(i));
+            total += table.getHeight(i);
+            assertEquals(total, table.getBottom(i));
+        }
+        assertEquals(total, table.getTotalHeight());
+    }
+}
@@ -0,0 +1,59 @@
+package com.sanousun.wheel.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 滚轮投影的几何缓存
+ */
+
+public class WheelGeometryTest {
+
+    private static final int VISIBLE_ITEM_COUNT = 7;
+    private static final int ITEM_HEIGHT = 44;
+    private static final double DELTA = 1e-3;
+
+    @Test
+    public void diameterAndItemHeightConversion() {
+        double itemAngle = WheelGeometry.getItemAngle(VISIBLE_ITEM_COUNT);
+        assertEquals(Math.PI / VISIBLE_ITEM_COUNT, itemAngle, 1e-12);
+        double diameter = WheelGeometry.getDiameter(ITEM_HEIGHT, itemAngle);
+        assertEquals(ITEM_HEIGHT / Math.sin(itemAngle / 2), diameter, 1e-9);
+        assertEquals(70, WheelGeometry.getItemHeight(100, Math.PI / 2));
+    }
+
+    @Test
+    public void visibleSlotsCoverTheDiameter() {
+        double itemAngle = WheelGeometry.getItemAngle(VISIBLE_ITEM_COUNT);
+        double radius = WheelGeometry.getDiameter(ITEM_HEIGHT, itemAngle) / 2;
+        WheelGeometry geometry = new WheelGeometry();
+        geometry.build(radius, itemAngle, ITEM_HEIGHT, VISIBLE_ITEM_COUNT);
+        assertEquals(VISIBLE_ITEM_COUNT + 1, geometry.getSlotCount());
+        for (int itemOffset = 0; itemOffset < ITEM_HEIGHT; itemOffset++) {
+            double total = 0;
+            for (int slot = 0; slot < geometry.getSlotCount(); slot++) {
+                float scale = geometry.getScaleY(itemOffset, slot);
+                assertTrue(scale >= 0 && scale <= 1);
+                total += geometry.getSlotHeight(itemOffset, slot);
+            }
+            assertEquals(radius * 2, total, DELTA);
+        }
+    }
+
+    @Test
+    public void slotsAreSymmetricWithoutOffset() {
+        double itemAngle = WheelGeometry.getItemAngle(VISIBLE_ITEM_COUNT);
+        double radius = WheelGeometry.getDiameter(ITEM_HEIGHT, itemAngle) / 2;
+        WheelGeometry geometry = new WheelGeometry();
+        geometry.build(radius, itemAngle, ITEM_HEIGHT, VISIBLE_ITEM_COUNT);
+        for (int slot = 0; slot < VISIBLE_ITEM_COUNT; slot++) {
+            assertEquals(geometry.getSlotHeight(0, slot),
+                    geometry.getSlotHeight(0, VISIBLE_ITEM_COUNT - 1 - slot), DELTA);
+        }
+        // 中间的槽位正对屏幕，不需要缩放
+        assertEquals(1f, geometry.getScaleY(0, VISIBLE_ITEM_COUNT / 2), DELTA);
+        assertEquals(0f, geometry.getSlotHeight(0, VISIBLE_ITEM_COUNT), DELTA);
+    }
+}
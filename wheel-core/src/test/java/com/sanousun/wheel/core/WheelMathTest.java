@@ -0,0 +1,93 @@
+package com.sanousun.wheel.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 偏移量与下标的换算
+ */
+
+public class WheelMathTest {
+
+    private static final int ITEM_HEIGHT = 44;
+    private static final int COUNT = 10;
+    private static final int VISIBLE_ITEM_COUNT = 7;
+
+    @Test
+    public void floorDivRoundsTowardNegativeInfinity() {
+        assertEquals(0, WheelMath.floorDiv(0, ITEM_HEIGHT));
+        assertEquals(0, WheelMath.floorDiv(43, ITEM_HEIGHT));
+        assertEquals(1, WheelMath.floorDiv(44, ITEM_HEIGHT));
+        assertEquals(-1, WheelMath.floorDiv(-1, ITEM_HEIGHT));
+        assertEquals(-1, WheelMath.floorDiv(-44, ITEM_HEIGHT));
+        assertEquals(-2, WheelMath.floorDiv(-45, ITEM_HEIGHT));
+    }
+
+    @Test
+    public void floorModIsNeverNegative() {
+        assertEquals(0, WheelMath.floorMod(0, COUNT));
+        assertEquals(3, WheelMath.floorMod(13, COUNT));
+        assertEquals(9, WheelMath.floorMod(-1, COUNT));
+        assertEquals(0, WheelMath.floorMod(-10, COUNT));
+        assertEquals(7, WheelMath.floorMod(-13, COUNT));
+    }
+
+    @Test
+    public void indexForNegativeOffset() {
+        assertEquals(9, WheelMath.getIndexForOffset(-1, ITEM_HEIGHT, COUNT, true));
+        assertEquals(8, WheelMath.getIndexForOffset(-ITEM_HEIGHT - 1, ITEM_HEIGHT, COUNT, true));
+        assertEquals(0, WheelMath.getIndexForOffset(-1, ITEM_HEIGHT, COUNT, false));
+        assertEquals(COUNT - 1, WheelMath.getIndexForOffset(ITEM_HEIGHT * COUNT * 2, ITEM_HEIGHT, COUNT, false));
+    }
+
+    @Test
+    public void cyclicItemPositionWrapsAround() {
+        // 选中第一个时，上面的槽位显示最后几个
+        assertEquals(7, WheelMath.getItemPosition(0, 0, VISIBLE_ITEM_COUNT, COUNT, true));
+        assertEquals(9, WheelMath.getItemPosition(2, 0, VISIBLE_ITEM_COUNT, COUNT, true));
+        assertEquals(0, WheelMath.getItemPosition(3, 0, VISIBLE_ITEM_COUNT, COUNT, true));
+        // 选中最后一个时，下面的槽位从第一个开始
+        assertEquals(0, WheelMath.getItemPosition(4, 9, VISIBLE_ITEM_COUNT, COUNT, true));
+        assertEquals(3, WheelMath.getItemPosition(7, 9, VISIBLE_ITEM_COUNT, COUNT, true));
+    }
+
+    @Test
+    public void nonCyclicItemPositionOutOfRange() {
+        assertEquals(-1, WheelMath.getItemPosition(0, 0, VISIBLE_ITEM_COUNT, COUNT, false));
+        assertEquals(0, WheelMath.getItemPosition(3, 0, VISIBLE_ITEM_COUNT, COUNT, false));
+        assertEquals(-1, WheelMath.getItemPosition(7, 9, VISIBLE_ITEM_COUNT, COUNT, false));
+    }
+
+    @Test
+    public void snapRoundsToNearestItem() {
+        assertEquals(0, WheelMath.getSnapOffset(ITEM_HEIGHT / 2 - 1, ITEM_HEIGHT, COUNT, false));
+        assertEquals(ITEM_HEIGHT, WheelMath.getSnapOffset(ITEM_HEIGHT / 2, ITEM_HEIGHT, COUNT, false));
+        assertEquals(-ITEM_HEIGHT, WheelMath.getSnapOffset(-ITEM_HEIGHT / 2 - 1, ITEM_HEIGHT, COUNT, true));
+    }
+
+    @Test
+    public void snapClampsAtBothEnds() {
+        int maxOffset = WheelMath.getMaxOffset(ITEM_HEIGHT, COUNT);
+        assertEquals(0, WheelMath.getSnapOffset(-ITEM_HEIGHT * 3, ITEM_HEIGHT, COUNT, false));
+        assertEquals(0, WheelMath.getSnapOffset(-1, ITEM_HEIGHT, COUNT, false));
+        assertEquals(maxOffset, WheelMath.getSnapOffset(maxOffset + ITEM_HEIGHT * 3, ITEM_HEIGHT, COUNT, false));
+        assertEquals(maxOffset, WheelMath.getSnapOffset(maxOffset + 1, ITEM_HEIGHT, COUNT, false));
+        // 循环模式不限制
+        assertEquals(-ITEM_HEIGHT * 3, WheelMath.getSnapOffset(-ITEM_HEIGHT * 3, ITEM_HEIGHT, COUNT, true));
+    }
+
+    @Test
+    public void maxOffsetOfEmptyData() {
+        assertEquals(0, WheelMath.getMaxOffset(ITEM_HEIGHT, 0));
+        assertEquals(0, WheelMath.clampOffset(100, ITEM_HEIGHT, 0, false));
+    }
+
+    @Test
+    public void normalizeKeepsCyclicOffsetWithinOneTurn() {
+        int turn = ITEM_HEIGHT * COUNT;
+        assertEquals(turn - 1, WheelMath.normalizeOffset(-1, ITEM_HEIGHT, COUNT, true));
+        assertEquals(5, WheelMath.normalizeOffset(turn * 3 + 5, ITEM_HEIGHT, COUNT, true));
+        assertEquals(-1, WheelMath.normalizeOffset(-1, ITEM_HEIGHT, COUNT, false));
+    }
+}
@@ -0,0 +1,76 @@
+package com.sanousun.wheel.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 匀减速模型的滑行距离与时长
+ */
+
+public class WheelPhysicsTest {
+
+    private static final float DECELERATION = 5000f;
+    private static final double NANOS_PER_SECOND = 1000000000.0;
+    private static final double DELTA_SECONDS = 1e-6;
+
+    @Test
+    public void flingDistanceKeepsDirection() {
+        assertEquals(100, WheelPhysics.getFlingDistance(1000f, DECELERATION));
+        assertEquals(-100, WheelPhysics.getFlingDistance(-1000f, DECELERATION));
+        assertEquals(0, WheelPhysics.getFlingDistance(0f, DECELERATION));
+    }
+
+    @Test
+    public void durationWithVelocity() {
+        // 匀减速到 0 的平均速度是初速度的一半
+        assertEquals(0.2, seconds(WheelPhysics.getDurationNanos(100, 1000f, DECELERATION)), DELTA_SECONDS);
+        assertEquals(0.2, seconds(WheelPhysics.getDurationNanos(-100, -1000f, DECELERATION)), DELTA_SECONDS);
+    }
+
+    @Test
+    public void durationWithoutMatchingVelocity() {
+        double expected = Math.sqrt(2 * 400 / DECELERATION);
+        assertEquals(expected, seconds(WheelPhysics.getDurationNanos(400, 0f, DECELERATION)), DELTA_SECONDS);
+        assertEquals(expected, seconds(WheelPhysics.getDurationNanos(400, -1000f, DECELERATION)), DELTA_SECONDS);
+    }
+
+    @Test
+    public void durationIsClamped() {
+        assertEquals(0L, WheelPhysics.getDurationNanos(0, 1000f, DECELERATION));
+        assertEquals(0.066, seconds(WheelPhysics.getDurationNanos(1, 100000f, DECELERATION)), DELTA_SECONDS);
+        assertEquals(1.5, seconds(WheelPhysics.getDurationNanos(1000000, 1f, DECELERATION)), DELTA_SECONDS);
+        assertEquals(1.5, seconds(WheelPhysics.getDurationNanos(-1000000, 0f, DECELERATION)), DELTA_SECONDS);
+    }
+
+    @Test
+    public void offsetFractionDecelerates() {
+        assertEquals(0f, WheelPhysics.getOffsetFraction(0f), 0f);
+        assertEquals(0.75f, WheelPhysics.getOffsetFraction(0.5f), 1e-6f);
+        assertEquals(1f, WheelPhysics.getOffsetFraction(1f), 0f);
+    }
+
+    @Test
+    public void velocityDecreasesToZero() {
+        long duration = WheelPhysics.getDurationNanos(100, 1000f, DECELERATION);
+        assertEquals(1000f, WheelPhysics.getVelocity(100, duration, 0), 1e-3f);
+        assertEquals(-500f, WheelPhysics.getVelocity(-100, duration, duration / 2), 1e-3f);
+        assertEquals(0f, WheelPhysics.getVelocity(100, duration, duration), 0f);
+        assertEquals(0f, WheelPhysics.getVelocity(100, 0, 0), 0f);
+    }
+
+    @Test
+    public void remainingDurationKeepsVelocityContinuous() {
+        // 中途以当前速度重新计算剩余距离的时长，与原来剩余的时长一致
+        long duration = WheelPhysics.getDurationNanos(640, 1280f, DECELERATION);
+        long elapsed = duration / 4;
+        float velocity = WheelPhysics.getVelocity(640, duration, elapsed);
+        int remaining = Math.round(640 * (1 - WheelPhysics.getOffsetFraction((float) elapsed / duration)));
+        assertEquals(seconds(duration - elapsed),
+                seconds(WheelPhysics.getDurationNanos(remaining, velocity, DECELERATION)), DELTA_SECONDS);
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / NANOS_PER_SECOND;
+    }
+}
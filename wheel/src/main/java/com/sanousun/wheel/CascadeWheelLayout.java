@@ -0,0 +1,306 @@
+package com.sanousun.wheel;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.AttributeSet;
+import android.view.View;
+import android.widget.LinearLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 多列联动的滚轮，例如 省 → 市 → 区
+ * 子节点中的 {@link ScrollWheelView} 按顺序作为每一列，上一列选中后在后台线程加载下一列的数据，
+ * 加载结果回到主线程后再设置给下一列；上一列再次改变时，未完成的加载会被取消，过期的结果会被丢弃
+ */
+
+public class CascadeWheelLayout extends LinearLayout {
+
+    /**
+     * 每一列
+     */
+    private final List<ScrollWheelView> mColumns = new ArrayList<>();
+    /**
+     * 每一列当前加载请求的序号，只在主线程读写，结果返回时序号不一致说明已经过期
+     */
+    private int[] mGenerations = new int[0];
+    /**
+     * 加载请求的递增序号，0 表示没有请求
+     */
+    private int mLoadSequence;
+    /**
+     * 每一列正在进行的加载任务
+     */
+    private Future<?>[] mPendingLoads = new Future<?>[0];
+    /**
+     * 每一列数据所对应的上一列下标，避免重复加载
+     */
+    private int[] mLoadedParentIndexes = new int[0];
+
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private ExecutorService mExecutor;
+    private CascadeDataProvider mDataProvider;
+    private OnCascadeChangeListener mOnCascadeChangeListener;
+
+    public CascadeWheelLayout(Context context) {
+        this(context, null);
+    }
+
+    public CascadeWheelLayout(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public CascadeWheelLayout(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        setOrientation(HORIZONTAL);
+    }
+
+    /* *************************** 数据操作 *************************** */
+
+    /**
+     * 设置加载下一列数据的提供者
+     */
+    public void setDataProvider(CascadeDataProvider dataProvider) {
+        mDataProvider = dataProvider;
+    }
+
+    /**
+     * 设置加载数据使用的线程池，默认使用滚轮共享的后台线程
+     */
+    public void setExecutor(ExecutorService executor) {
+        mExecutor = executor;
+    }
+
+    /**
+     * 设置监听器
+     */
+    public void setOnCascadeChangeListener(OnCascadeChangeListener onCascadeChangeListener) {
+        mOnCascadeChangeListener = onCascadeChangeListener;
+    }
+
+    /**
+     * 设置第一列的数据，后面的列会依次加载
+     */
+    public void setRootAdapter(WheelAdapter adapter) {
+        bindColumns();
+        if (mColumns.isEmpty()) {
+            return;
+        }
+        cancelLoads(0);
+        mColumns.get(0).setAdapter(adapter);
+        clearColumnsIfEmpty(0, adapter);
+    }
+
+    /**
+     * 获取对应的列
+     */
+    public ScrollWheelView getColumn(int column) {
+        bindColumns();
+        return mColumns.get(column);
+    }
+
+    public int getColumnCount() {
+        bindColumns();
+        return mColumns.size();
+    }
+
+    /**
+     * 获取每一列当前选中的下标
+     */
+    public int[] getCurrentIndexes() {
+        bindColumns();
+        int[] indexes = new int[mColumns.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = mColumns.get(i).getCurrentIndex();
+        }
+        return indexes;
+    }
+
+    /**
+     * 是否还有列的数据正在加载
+     */
+    public boolean isLoading() {
+        for (Future<?> load : mPendingLoads) {
+            if (load != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        if (isLoading()) {
+            return;
+        }
+        // 离开窗口时被取消的加载，重新从第一个缺失数据的列开始
+        for (int i = 1; i < mColumns.size(); i++) {
+            ScrollWheelView parent = mColumns.get(i - 1);
+            if (mLoadedParentIndexes[i] == -1 && mDataProvider != null
+                    && parent.getCurrentData() != null) {
+                load(i, parent.getCurrentIndex(), parent.getCurrentData());
+                break;
+            }
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        cancelPendingLoads();
+    }
+
+    /**
+     * 按顺序收集子节点中的滚轮作为每一列
+     */
+    private void bindColumns() {
+        int count = 0;
+        for (int i = 0; i < getChildCount(); i++) {
+            if (getChildAt(i) instanceof ScrollWheelView) {
+                count++;
+            }
+        }
+        if (count == mColumns.size()) {
+            return;
+        }
+        cancelLoads(0);
+        mColumns.clear();
+        for (int i = 0; i < getChildCount(); i++) {
+            View child = getChildAt(i);
+            if (child instanceof ScrollWheelView) {
+                final int column = mColumns.size();
+                ScrollWheelView wheel = (ScrollWheelView) child;
+                wheel.setOnWheelChangeListener(new ScrollWheelView.OnWheelChangeListener() {
+                    @Override
+                    public void onWheelChange(int index, WheelBean wheelBean) {
+                        onColumnChange(column, index, wheelBean);
+                    }
+                });
+                mColumns.add(wheel);
+            }
+        }
+        mGenerations = new int[count];
+        mPendingLoads = new Future<?>[count];
+        mLoadedParentIndexes = new int[count];
+        for (int i = 0; i < count; i++) {
+            mLoadedParentIndexes[i] = -1;
+        }
+    }
+
+    private void onColumnChange(int column, int index, WheelBean wheelBean) {
+        if (mOnCascadeChangeListener != null) {
+            mOnCascadeChangeListener.onCascadeChange(column, index, wheelBean);
+        }
+        int child = column + 1;
+        if (child >= mColumns.size() || mDataProvider == null) {
+            return;
+        }
+        // 上一列的选中没有变化并且下一列已经加载或正在加载
+        if (mLoadedParentIndexes[child] == index) {
+            return;
+        }
+        load(child, index, wheelBean);
+    }
+
+    private void load(final int column, final int parentIndex, final WheelBean parent) {
+        // 下一列及之后的请求全部过期
+        cancelLoads(column);
+        mLoadedParentIndexes[column] = parentIndex;
+        final int generation = ++mLoadSequence;
+        mGenerations[column] = generation;
+        final CascadeDataProvider dataProvider = mDataProvider;
+        ExecutorService executor = mExecutor != null ? mExecutor : WheelExecutors.background();
+        mPendingLoads[column] = executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                final WheelAdapter adapter = dataProvider.loadColumn(column, parentIndex, parent);
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (column >= mGenerations.length || generation != mGenerations[column]) {
+                            return;
+                        }
+                        mPendingLoads[column] = null;
+                        // 设置数据后会回调选中的下标，继续加载下一列
+                        mColumns.get(column).setAdapter(adapter);
+                        clearColumnsIfEmpty(column, adapter);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * 取消从 fromColumn 开始所有列的加载
+     */
+    private void cancelLoads(int fromColumn) {
+        for (int i = fromColumn; i < mPendingLoads.length; i++) {
+            mGenerations[i] = 0;
+            mLoadedParentIndexes[i] = -1;
+            if (mPendingLoads[i] != null) {
+                mPendingLoads[i].cancel(true);
+                mPendingLoads[i] = null;
+            }
+        }
+    }
+
+    /**
+     * 只取消还在进行的加载，这些列重新进入窗口后需要重新加载，已经加载完成的列保持不变
+     */
+    private void cancelPendingLoads() {
+        for (int i = 0; i < mPendingLoads.length; i++) {
+            if (mPendingLoads[i] != null) {
+                mPendingLoads[i].cancel(true);
+                mPendingLoads[i] = null;
+                mGenerations[i] = 0;
+                mLoadedParentIndexes[i] = -1;
+            }
+        }
+    }
+
+    /**
+     * 没有数据的列不会回调选中，后面的列需要清空，避免还能选中上一个分支的数据
+     */
+    private void clearColumnsIfEmpty(int column, WheelAdapter adapter) {
+        if (adapter != null && adapter.getCount() > 0) {
+            return;
+        }
+        for (int i = column + 1; i < mColumns.size(); i++) {
+            mColumns.get(i).setAdapter(null);
+        }
+    }
+
+    /**
+     * 下一列数据的提供者
+     */
+    public interface CascadeDataProvider {
+        /**
+         * 加载某一列的数据，在后台线程调用
+         *
+         * @param column      需要加载的列
+         * @param parentIndex 上一列选中的下标
+         * @param parent      上一列选中的数据
+         * @return 该列的数据
+         */
+        WheelAdapter loadColumn(int column, int parentIndex, WheelBean parent);
+    }
+
+    public interface OnCascadeChangeListener {
+        /**
+         * 某一列的选中改变
+         *
+         * @param column    列
+         * @param index     目标
+         * @param wheelBean 目标数据
+         */
+        void onCascadeChange(int column, int index, WheelBean wheelBean);
+    }
+}
@@ -0,0 +1,16 @@
+package com.sanousun.wheel;
+
+/**
+ * 带有图标的数据，例如国旗、品牌 logo
+ * 图标在后台线程按 item 高度解码，解码完成前显示占位
+ */
+
+public interface IconWheelBean extends WheelBean {
+
+    /**
+     * 获取图标的位图资源
+     *
+     * @return 位图资源 id，没有图标时返回 0
+     */
+    int getIconRes();
+}
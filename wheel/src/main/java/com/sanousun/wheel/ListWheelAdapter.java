@@ -0,0 +1,33 @@
+package com.sanousun.wheel;
+
+import java.util.List;
+
+/**
+ * 以 {@link WheelBean} 列表作为数据源的适配器
+ */
+
+public class ListWheelAdapter implements WheelAdapter {
+
+    private final List<WheelBean> mData;
+
+    public ListWheelAdapter(List<WheelBean> data) {
+        mData = data;
+    }
+
+    @Override
+    public int getCount() {
+        return mData == null ? 0 : mData.size();
+    }
+
+    @Override
+    public String getText(int index) {
+        return mData.get(index).getShowText();
+    }
+
+    /**
+     * 获取对应下标的数据
+     */
+    public WheelBean getItem(int index) {
+        return mData.get(index);
+    }
+}
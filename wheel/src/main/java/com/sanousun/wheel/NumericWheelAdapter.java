@@ -0,0 +1,128 @@
+package com.sanousun.wheel;
+
+/**
+ * 数字范围的数据源，例如 "08 min"、"2024年"
+ * 滚轮绘制时通过 {@link #getText(int, char[])} 将文字直接格式化到复用的字符数组中，不会创建字符串
+ */
+
+public class NumericWheelAdapter implements WheelAdapter {
+
+    private final int mStart;
+    private final int mStep;
+    private final int mCount;
+    /**
+     * 数字的最少位数，不足时补 0
+     */
+    private final int mMinDigits;
+    private final char[] mPrefix;
+    private final char[] mSuffix;
+    private final int mMaxTextLength;
+
+    public NumericWheelAdapter(int start, int end) {
+        this(start, end, 1, 0, null, null);
+    }
+
+    /**
+     * @param start     起始值
+     * @param end       结束值，包含在内
+     * @param step      步长，必须为正数
+     * @param minDigits 数字的最少位数，不足时补 0
+     * @param prefix    前缀，可以为 null
+     * @param suffix    后缀，可以为 null
+     */
+    public NumericWheelAdapter(int start, int end, int step, int minDigits,
+                               String prefix, String suffix) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("step must be positive: " + step);
+        }
+        mStart = start;
+        mStep = step;
+        // 范围很大时数量可能超出 int，超出的部分不显示
+        mCount = end < start ? 0 : (int) Math.min(((long) end - start) / step + 1, Integer.MAX_VALUE);
+        mMinDigits = minDigits;
+        mPrefix = prefix == null ? new char[0] : prefix.toCharArray();
+        mSuffix = suffix == null ? new char[0] : suffix.toCharArray();
+        int maxDigits = Math.max(digitCount(start), digitCount(end));
+        mMaxTextLength = mPrefix.length + 1 + Math.max(maxDigits, minDigits) + mSuffix.length;
+    }
+
+    @Override
+    public int getCount() {
+        return mCount;
+    }
+
+    @Override
+    public String getText(int index) {
+        char[] buffer = new char[mMaxTextLength];
+        return new String(buffer, 0, getText(index, buffer));
+    }
+
+    /**
+     * 获取对应下标的数值
+     */
+    public int getValue(int index) {
+        return (int) (mStart + (long) index * mStep);
+    }
+
+    /**
+     * 获取数值对应的下标，超出范围时返回 -1
+     */
+    public int getIndex(int value) {
+        long diff = (long) value - mStart;
+        if (diff < 0 || diff % mStep != 0 || diff / mStep >= mCount) {
+            return -1;
+        }
+        return (int) (diff / mStep);
+    }
+
+    /**
+     * 文字的最大长度，用于创建 {@link #getText(int, char[])} 使用的字符数组
+     */
+    public int getMaxTextLength() {
+        return mMaxTextLength;
+    }
+
+    /**
+     * 将对应下标的文字写入字符数组
+     *
+     * @param buffer 长度不小于 {@link #getMaxTextLength()} 的字符数组
+     * @return 文字的长度
+     */
+    public int getText(int index, char[] buffer) {
+        int value = getValue(index);
+        int length = 0;
+        System.arraycopy(mPrefix, 0, buffer, length, mPrefix.length);
+        length += mPrefix.length;
+        // 使用 long 避免 Integer.MIN_VALUE 取反溢出
+        long abs = value;
+        if (abs < 0) {
+            buffer[length++] = '-';
+            abs = -abs;
+        }
+        int digits = digitCount(abs);
+        for (int i = digits; i < mMinDigits; i++) {
+            buffer[length++] = '0';
+        }
+        int end = length + digits;
+        for (int i = end - 1; i >= length; i--) {
+            buffer[i] = (char) ('0' + abs % 10);
+            abs /= 10;
+        }
+        length = end;
+        System.arraycopy(mSuffix, 0, buffer, length, mSuffix.length);
+        length += mSuffix.length;
+        return length;
+    }
+
+    private static int digitCount(long value) {
+        if (value < 0) {
+            value = -value;
+        }
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,15 @@
+package com.sanousun.wheel;
+
+/**
+ * 滚轮性能统计的监听器
+ */
+
+public interface OnWheelPerformanceListener {
+
+    /**
+     * 每次滚动手势结束（滚轮停止滚动或者被新的触摸打断）时回调一次
+     *
+     * @param stats 本次手势的统计数据
+     */
+    void onWheelPerformance(WheelPerformanceStats stats);
+}
@@ -0,0 +1,64 @@
+package com.sanousun.wheel;
+
+import android.graphics.Paint;
+
+import java.util.List;
+
+/**
+ * 预先解析好文字的列表数据源，由 {@link WheelDataLoader} 在后台线程创建
+ * 绘制时不再调用 {@link WheelBean#getShowText()}，文字宽度也已经按分割线内外两种画笔测量好
+ */
+
+final class PreparedWheelAdapter extends ListWheelAdapter {
+
+    private final String[] mTexts;
+    private final float[] mInnerWidths;
+    private final float[] mOuterWidths;
+
+    private PreparedWheelAdapter(List<WheelBean> data, String[] texts,
+                                 float[] innerWidths, float[] outerWidths) {
+        super(data);
+        mTexts = texts;
+        mInnerWidths = innerWidths;
+        mOuterWidths = outerWidths;
+    }
+
+    /**
+     * 解析所有的文字并测量宽度，在后台线程调用，画笔需要是调用方独占的副本
+     */
+    static PreparedWheelAdapter prepare(List<WheelBean> data, Paint innerTxtPaint, Paint outerTxtPaint) {
+        int count = data.size();
+        String[] texts = new String[count];
+        float[] innerWidths = new float[count];
+        float[] outerWidths = new float[count];
+        for (int i = 0; i < count; i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                return null;
+            }
+            String text = data.get(i).getShowText();
+            texts[i] = text;
+            innerWidths[i] = innerTxtPaint.measureText(text);
+            outerWidths[i] = outerTxtPaint.measureText(text);
+        }
+        return new PreparedWheelAdapter(data, texts, innerWidths, outerWidths);
+    }
+
+    @Override
+    public int getCount() {
+        return mTexts.length;
+    }
+
+    @Override
+    public String getText(int index) {
+        return mTexts[index];
+    }
+
+    /**
+     * 获取文字的宽度
+     *
+     * @param inner 是否为分割线内的画笔
+     */
+    float getTextWidth(int index, boolean inner) {
+        return inner ? mInnerWidths[index] : mOuterWidths[index];
+    }
+}
@@ -4,19 +4,25 @@ import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.support.v4.widget.EdgeEffectCompat;
 import android.util.AttributeSet;
 import android.util.Log;
+import android.view.Display;
 import android.view.MotionEvent;
 import android.view.VelocityTracker;
 import android.view.View;
 import android.view.ViewConfiguration;
 import android.view.ViewParent;
+import android.view.animation.DecelerateInterpolator;
 import android.widget.EdgeEffect;
 import android.widget.OverScroller;
 
-import java.util.ArrayList;
+import com.sanousun.wheel.core.WheelGeometry;
+import com.sanousun.wheel.core.WheelMath;
+import com.sanousun.wheel.core.WheelPhysics;
+
 import java.util.List;
 
 /**
@@ -24,19 +30,64 @@ import java.util.List;
  * @date 2016/11/21
  * 仿 iOS 的滚轮控件
  * 通过 OverScroller 实现滚动
- * 停止滚动监听实现有点困难，想想看有什么好的解决方式
+ * 抬手时按匀减速模型预先算出停止的位置并对齐到 item，一次滚动直接停在选中项上，停止后回调选中的数据
  */
 
 public class ScrollWheelView extends View {
 
     private static final String TAG = ScrollWheelView.class.getSimpleName();
 
+    /**
+     * 绘制过程中的调试日志开关
+     */
+    private static final boolean DEBUG = false;
+
+    /**
+     * 每一帧直接绘制文字
+     */
+    public static final int RENDER_MODE_TEXT = WheelItemRenderer.MODE_TEXT;
+    /**
+     * 将文字预先栅格化成位图缓存起来，滚动时只绘制位图
+     */
+    public static final int RENDER_MODE_BITMAP = WheelItemRenderer.MODE_BITMAP;
+    /**
+     * 将文字录制成显示列表缓存起来，滚动时直接回放，不支持的平台上直接绘制文字
+     */
+    public static final int RENDER_MODE_DISPLAY_LIST = WheelItemRenderer.MODE_DISPLAY_LIST;
+
+    /**
+     * 平面投影，item 只在竖直方向上压缩
+     */
+    public static final int PROJECTION_FLAT = 0;
+    /**
+     * 立体投影，item 绕 X 轴旋转并带有透视
+     */
+    public static final int PROJECTION_CYLINDER = 1;
+
+    /**
+     * 超出宽度的文字不做处理
+     */
+    public static final int TEXT_FIT_NONE = WheelItemRenderer.FIT_NONE;
+    /**
+     * 缩小超出宽度的文字，缩小到一定比例仍然放不下时截断
+     */
+    public static final int TEXT_FIT_SHRINK = WheelItemRenderer.FIT_SHRINK;
+    /**
+     * 超出宽度的文字在末尾截断为省略号
+     */
+    public static final int TEXT_FIT_ELLIPSIZE = WheelItemRenderer.FIT_ELLIPSIZE;
+
+    /**
+     * 滚动的减速度，dp/s²，与 {@link WheelView} 一致
+     */
+    private static final float DECELERATION_DP = 5000f;
+
     private static final int INVALID_POINTER = -1;
 
     /**
      * 转盘的数据
      */
-    private List<WheelBean> mData = new ArrayList<>();
+    private WheelAdapter mAdapter;
     /**
      * 转盘的监听器
      */
@@ -54,6 +105,34 @@ public class ScrollWheelView extends View {
      * 分割线画笔
      */
     private Paint mLinePaint;
+    /**
+     * 分割线内文字基线相对 item 中心的偏移，画笔改变时更新
+     */
+    private int mInnerBaselineOffset;
+    /**
+     * 分割线外文字基线相对 item 中心的偏移，画笔改变时更新
+     */
+    private int mOuterBaselineOffset;
+    /**
+     * 小于该高度的 item 不绘制，初始化时由 1dp 换算
+     */
+    private int mMinVisibleItemHeight;
+    /**
+     * item 的绘制，负责文字位图的缓存
+     */
+    private WheelItemRenderer mItemRenderer;
+    /**
+     * 在后台线程提前排版可见区域附近的文字
+     */
+    private WheelTextWarmer mTextWarmer;
+    /**
+     * 异步设置数据时在后台线程准备数据
+     */
+    private final WheelDataLoader mDataLoader = new WheelDataLoader();
+    /**
+     * 性能统计，没有设置监听器时不计时
+     */
+    private final WheelPerformanceTracker mPerformanceTracker = new WheelPerformanceTracker();
 
     private double mRadius;
 
@@ -69,6 +148,22 @@ public class ScrollWheelView extends View {
      * item的对应角度，180/mVisibleItemCount
      */
     private double mItemAngle;
+    /**
+     * 投影的几何缓存，在 onMeasure 中构建
+     */
+    private final WheelGeometry mGeometry = new WheelGeometry();
+    /**
+     * 当前槽位的缩放矩阵，绘制时复用
+     */
+    private final Matrix mSlotMatrix = new Matrix();
+    /**
+     * 投影方式
+     */
+    private int mProjection;
+    /**
+     * 立体投影的变换缓存，只在立体投影时构建
+     */
+    private WheelCameraProjection mCameraProjection;
 
     /**
      * 第一条分隔线高度
@@ -80,13 +175,17 @@ public class ScrollWheelView extends View {
     private float mBottomSepLineHeight;
 
     /**
-     * 当前的偏移量，0..mItemHeight*(mData.size()-1)
+     * 当前的偏移量，0..mItemHeight*(getItemCount()-1)，循环模式下不限制范围
      */
     private int mCurrentOffset;
     /**
-     * 当期的下标，0..mData.size()-1
+     * 当期的下标，0..getItemCount()-1
      */
     private int mCurrentIndex;
+    /**
+     * 是否循环滚动，循环时下标对数据数量取模，偏移量不再限制范围
+     */
+    private boolean mCyclic;
 
     private OverScroller mScroller;
     private EdgeEffect mEdgeGlowTop;
@@ -96,7 +195,10 @@ public class ScrollWheelView extends View {
     private int mMinimumVelocity;
     private int mMaximumVelocity;
     private int mOverScrollDistance;
-    private int mOverFlingDistance;
+    /**
+     * 滚动的减速度，px/s²
+     */
+    private float mDeceleration;
 
     private int mActivePointerId = INVALID_POINTER;
     /**
@@ -104,6 +206,10 @@ public class ScrollWheelView extends View {
      */
     private int mLastMotionY;
     private boolean mIsBeingDragged = false;
+    /**
+     * 是否处于抬手后对齐 item 的滚动过程中，用于判断滚动停止
+     */
+    private boolean mIsAutoScrolling = false;
 
     public ScrollWheelView(Context context) {
         this(context, null);
@@ -131,6 +237,9 @@ public class ScrollWheelView extends View {
         int outerTxtColor = ta.getColor(R.styleable.WheelView_wheel_outer_text_color, Color.parseColor("#AFAFAF"));
         int sepColor = ta.getColor(R.styleable.WheelView_wheel_sep_line_color, Color.parseColor("#E7E7E7"));
         int sepWidth = ta.getDimensionPixelSize(R.styleable.WheelView_wheel_sep_line_width, 1);
+        mCyclic = ta.getBoolean(R.styleable.WheelView_wheel_cyclic, false);
+        int projection = ta.getInt(R.styleable.WheelView_wheel_projection, PROJECTION_FLAT);
+        int textFit = ta.getInt(R.styleable.WheelView_wheel_text_fit, TEXT_FIT_NONE);
         ta.recycle();
 
         mInnerTxtPaint.setAntiAlias(true);
@@ -146,13 +255,21 @@ public class ScrollWheelView extends View {
         mLinePaint.setColor(sepColor);
         mLinePaint.setStrokeWidth(sepWidth);
 
-        mScroller = new OverScroller(getContext());
+        mMinVisibleItemHeight = dp2px(1);
+        setProjection(projection);
+        updateTextBaseline();
+        mItemRenderer = new WheelItemRenderer(this, mInnerTxtPaint, mOuterTxtPaint);
+        mItemRenderer.setFitMode(textFit);
+        mTextWarmer = new WheelTextWarmer(mInnerTxtPaint, mOuterTxtPaint);
+
+        // 插值曲线与 WheelPhysics 的匀减速模型一致
+        mScroller = new OverScroller(getContext(), new DecelerateInterpolator());
+        mDeceleration = DECELERATION_DP * getResources().getDisplayMetrics().density;
         final ViewConfiguration configuration = ViewConfiguration.get(context);
         mTouchSlop = configuration.getScaledTouchSlop();
         mMinimumVelocity = configuration.getScaledMinimumFlingVelocity();
         mMaximumVelocity = configuration.getScaledMaximumFlingVelocity();
         mOverScrollDistance = configuration.getScaledOverscrollDistance();
-        mOverFlingDistance = configuration.getScaledOverflingDistance();
     }
 
     /* *************************** 数据操作 *************************** */
@@ -161,9 +278,39 @@ public class ScrollWheelView extends View {
      * 设置数据源
      */
     public void setData(List<WheelBean> data) {
-        mData = data;
+        setAdapter(data == null ? null : new ListWheelAdapter(data));
+    }
+
+    /**
+     * 异步设置数据源，在后台线程调用 {@link WheelBean#getShowText()} 解析所有的文字并测量宽度，
+     * 完成后在主线程一次性替换数据；完成前再次设置数据会使本次请求失效
+     */
+    public void setDataAsync(List<WheelBean> data) {
+        if (data == null) {
+            setData(null);
+            return;
+        }
+        mDataLoader.load(data, mInnerTxtPaint, mOuterTxtPaint, new WheelDataLoader.Callback() {
+            @Override
+            public void onPrepared(PreparedWheelAdapter adapter) {
+                setAdapter(adapter);
+            }
+        });
+    }
+
+    /**
+     * 设置数据源，只会查询可见范围内的数据
+     */
+    public void setAdapter(WheelAdapter adapter) {
+        mDataLoader.cancel();
+        mScroller.abortAnimation();
+        mIsAutoScrolling = false;
+        mAdapter = adapter;
+        mItemRenderer.setAdapter(adapter);
+        mTextWarmer.setAdapter(adapter);
         mCurrentIndex = 0;
         mCurrentOffset = 0;
+        mTextWarmer.onIndexChanged(mCurrentIndex, mVisibleItemCount, mCyclic);
         notifyIndexChange();
         invalidate();
     }
@@ -172,12 +319,86 @@ public class ScrollWheelView extends View {
      * 获取当前选中的数据
      */
     public WheelBean getCurrentData() {
-        if (mData != null && mData.size() != 0) {
-            return mData.get(mCurrentIndex);
+        if (getItemCount() != 0) {
+            return getItem(mCurrentIndex);
         }
         return null;
     }
 
+    /**
+     * 获取当前选中的下标
+     */
+    public int getCurrentIndex() {
+        return mCurrentIndex;
+    }
+
+    public WheelAdapter getAdapter() {
+        return mAdapter;
+    }
+
+    /**
+     * 设置是否循环滚动，滚动超过最后一个 item 后回到第一个
+     */
+    public void setCyclic(boolean cyclic) {
+        if (mCyclic == cyclic) {
+            return;
+        }
+        mCyclic = cyclic;
+        mCurrentOffset = mCurrentIndex * mItemHeight;
+        invalidate();
+    }
+
+    public boolean isCyclic() {
+        return mCyclic;
+    }
+
+    /**
+     * 设置投影方式
+     *
+     * @param projection {@link #PROJECTION_FLAT} 或者 {@link #PROJECTION_CYLINDER}
+     */
+    public void setProjection(int projection) {
+        mProjection = projection;
+        if (projection == PROJECTION_CYLINDER && mCameraProjection == null) {
+            mCameraProjection = new WheelCameraProjection();
+        }
+        invalidate();
+    }
+
+    public int getProjection() {
+        return mProjection;
+    }
+
+    /**
+     * 设置超出宽度的文字的处理方式，每个 item 只在第一次绘制时测量，结果会缓存到宽度或者数据改变
+     *
+     * @param textFit {@link #TEXT_FIT_NONE}、{@link #TEXT_FIT_SHRINK} 或者 {@link #TEXT_FIT_ELLIPSIZE}
+     */
+    public void setTextFit(int textFit) {
+        mItemRenderer.setFitMode(textFit);
+        invalidate();
+    }
+
+    /**
+     * 在后台线程提前排版可见区域上下各 count 个 item 的文字，滚动时主线程绘制的文字已经排版完成
+     *
+     * @param count 提前排版的数量，0 表示关闭
+     */
+    public void setTextPrefetchCount(int count) {
+        mTextWarmer.setPrefetchCount(count);
+        mTextWarmer.onIndexChanged(mCurrentIndex, mVisibleItemCount, mCyclic);
+    }
+
+    /**
+     * 设置 item 的绘制方式
+     *
+     * @param renderMode {@link #RENDER_MODE_TEXT}、{@link #RENDER_MODE_BITMAP} 或者 {@link #RENDER_MODE_DISPLAY_LIST}
+     */
+    public void setRenderMode(int renderMode) {
+        mItemRenderer.setMode(renderMode);
+        invalidate();
+    }
+
     /**
      * 设置监听器
      */
@@ -185,13 +406,40 @@ public class ScrollWheelView extends View {
         mOnWheelChangeListener = onWheelChangeListener;
     }
 
+    /**
+     * 设置性能统计的监听器，每次滚动手势结束时回调汇总数据，传入 null 关闭统计
+     */
+    public void setOnWheelPerformanceListener(OnWheelPerformanceListener listener) {
+        mPerformanceTracker.setListener(listener);
+    }
+
     private void notifyIndexChange() {
         if (mOnWheelChangeListener != null
-                && mData != null && mData.size() > 0) {
-            mOnWheelChangeListener.onWheelChange(mCurrentIndex, mData.get(mCurrentIndex));
+                && getItemCount() > 0) {
+            mOnWheelChangeListener.onWheelChange(mCurrentIndex, getItem(mCurrentIndex));
         }
     }
 
+    private int getItemCount() {
+        return mAdapter == null ? 0 : mAdapter.getCount();
+    }
+
+    /**
+     * 列表数据源直接返回对应的数据，其他数据源只为选中的数据包装一个对象
+     */
+    private WheelBean getItem(int index) {
+        if (mAdapter instanceof ListWheelAdapter) {
+            return ((ListWheelAdapter) mAdapter).getItem(index);
+        }
+        final String text = mAdapter.getText(index);
+        return new WheelBean() {
+            @Override
+            public String getShowText() {
+                return text;
+            }
+        };
+    }
+
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
         int heightMode = MeasureSpec.getMode(heightMeasureSpec);
@@ -199,33 +447,44 @@ public class ScrollWheelView extends View {
         int height;
         double diameter;
         //获取item高度对应的角度
-        mItemAngle = Math.PI / mVisibleItemCount;
+        mItemAngle = WheelGeometry.getItemAngle(mVisibleItemCount);
         //高度已知，通过高度获取mItemHeight
         if (heightMode == MeasureSpec.EXACTLY) {
             height = heightSize;
             diameter = height - getPaddingTop() - getPaddingBottom();
-            mItemHeight = (int) (diameter / 2 * Math.sin(mItemAngle / 2) * 2);
+            mItemHeight = WheelGeometry.getItemHeight(diameter, mItemAngle);
         }
         //高度未知，通过mItemHeight推导高度
         else {
             //获取滚轮的直径
-            diameter = mItemHeight / 2 / Math.sin(mItemAngle / 2) * 2;
+            diameter = WheelGeometry.getDiameter(mItemHeight, mItemAngle);
             height = (int) (getPaddingTop() + getPaddingBottom() + diameter);
         }
         mRadius = diameter / 2;
         //在这里不需要考虑paddingTop，绘制时会将画布整体移动
         mTopSepLineHeight = (float) (diameter / 2 - mItemHeight / 2);
         mBottomSepLineHeight = (float) (diameter / 2 + mItemHeight / 2);
+        mGeometry.build(mRadius, mItemAngle, mItemHeight, mVisibleItemCount);
+        mItemRenderer.setItemHeight(mItemHeight);
         super.onMeasure(widthMeasureSpec, MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY));
+        mItemRenderer.setAvailableWidth(getMeasuredWidth() - getPaddingLeft() - getPaddingRight());
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
+        long drawStart = mPerformanceTracker.onDrawStart();
+        drawWheel(canvas);
+        mPerformanceTracker.onDrawEnd(drawStart);
+    }
+
+    private void drawWheel(Canvas canvas) {
         int top = getPaddingTop();
         int left = getPaddingLeft();
         int right = getMeasuredWidth() - getPaddingRight();
         int bottom = getMeasuredHeight() - getPaddingBottom();
 
+        //绘制过程中画布的状态在结束时统一恢复
+        int saveCount = canvas.save();
         //移除paddingTop的影响
         canvas.translate(0, top);
 
@@ -234,74 +493,59 @@ public class ScrollWheelView extends View {
         //画出第二条线
         canvas.drawLine(left, mBottomSepLineHeight, right, mBottomSepLineHeight, mLinePaint);
 
-        if (mData == null || mData.size() == 0) {
+        if (getItemCount() == 0) {
             mCurrentIndex = 0;
             mCurrentOffset = 0;
+            canvas.restoreToCount(saveCount);
             return;
         }
-        if (mCurrentOffset < 0) {
-            mCurrentOffset = 0;
-        } else if (mCurrentOffset > getTotalOffset()) {
-            mCurrentOffset = getTotalOffset();
-        }
+        // 循环模式不限制偏移量
+        mCurrentOffset = WheelMath.clampOffset(mCurrentOffset, mItemHeight, getItemCount(), mCyclic);
         //计算相对于item的偏移量
-        int itemOffset = mCurrentOffset % mItemHeight;
+        int itemOffset = WheelMath.floorMod(mCurrentOffset, mItemHeight);
         //计算偏移后的index
-        int curIndex = mCurrentOffset / mItemHeight;
+        int curIndex = getIndexForOffset(mCurrentOffset);
         //偏移后的index改变时通知监听器
         if (mCurrentIndex != curIndex) {
             mCurrentIndex = curIndex;
         }
 
+        boolean cylinder = mProjection == PROJECTION_CYLINDER;
+        if (cylinder) {
+            mCameraProjection.build(mRadius, mItemAngle, mItemHeight, mVisibleItemCount, getMeasuredWidth() / 2);
+        }
         // 开始绘制，可见 item 为奇数，需要绘制 +1 个才能保证上下可见
         for (int i = 0; i <= mVisibleItemCount; i++) {
-            canvas.save();
-            double offsetAngle = -(mItemAngle * (itemOffset * 1.0 / mItemHeight));
-            // 计算顶部的角度
-            double angle0 = i * mItemAngle + offsetAngle;
-            if (angle0 < 0) {
-                angle0 = 0;
+            // 从几何缓存中取出该 item 的实际高度、缩放值以及缩放前的位置
+            float itemHeight = mGeometry.getSlotHeight(itemOffset, i);
+            float scaleY = mGeometry.getScaleY(itemOffset, i);
+            int itemLocationY = mGeometry.getLocationY(itemOffset, i);
+            if (DEBUG) {
+                Log.i(TAG, "slot: " + i + ", itemHeight: " + itemHeight
+                        + ", scaleY: " + scaleY + ", itemLocationY: " + itemLocationY);
             }
-            // 计算底部的角度
-            double angle1 = (i + 1) * mItemAngle + offsetAngle;
-            if (angle1 > Math.PI) {
-                angle1 = Math.PI;
-            }
-            // 计算出该 item 的实际高度
-            float itemHeight = (float) ((Math.cos(angle0) - Math.cos(angle1)) * mRadius);
-            // 计算出一个缩放值
-            float scaleY = itemHeight / mItemHeight;
-            // 这里的高度是折叠前的
-            int itemY = (int) ((1 - Math.cos(angle0)) * mRadius + itemHeight / 2);
-            int itemLocationY = (int) (itemY / scaleY);
-            if (itemHeight < dp2px(1)) {
+            if (itemHeight < mMinVisibleItemHeight || getItemPosition(i) < 0) {
                 continue;
             }
-            //需要靠画布的折叠来实现效果
-            canvas.save();
+            //需要靠画布的折叠来实现效果，跨过分隔线的 item 分成两部分各自裁剪
+            //立体投影的矩阵已经包含了位置，item 以 0 为中心绘制
+            if (cylinder) {
+                mCameraProjection.getMatrix(itemOffset, i, mSlotMatrix);
+                itemLocationY = 0;
+            } else {
+                mSlotMatrix.setScale(1.0f, scaleY);
+            }
             if (i == mVisibleItemCount / 2) {
-                canvas.clipRect(left, 0, right, mTopSepLineHeight);
-                canvas.scale(1.0f, scaleY);
-                drawText(canvas, getText(i), mOuterTxtPaint, itemLocationY);
-                canvas.restore();
-                canvas.clipRect(left, mTopSepLineHeight, right, bottom);
-                canvas.scale(1.0f, scaleY);
-                drawText(canvas, getText(i), mInnerTxtPaint, itemLocationY);
+                drawSlot(canvas, i, mOuterTxtPaint, mOuterBaselineOffset, itemLocationY, 0, mTopSepLineHeight);
+                drawSlot(canvas, i, mInnerTxtPaint, mInnerBaselineOffset, itemLocationY, mTopSepLineHeight, bottom);
             } else if (i == mVisibleItemCount / 2 + 1) {
-                canvas.clipRect(left, 0, right, mBottomSepLineHeight);
-                canvas.scale(1.0f, scaleY);
-                drawText(canvas, getText(i), mInnerTxtPaint, itemLocationY);
-                canvas.restore();
-                canvas.clipRect(left, mBottomSepLineHeight, right, bottom);
-                canvas.scale(1.0f, scaleY);
-                drawText(canvas, getText(i), mOuterTxtPaint, itemLocationY);
+                drawSlot(canvas, i, mInnerTxtPaint, mInnerBaselineOffset, itemLocationY, 0, mBottomSepLineHeight);
+                drawSlot(canvas, i, mOuterTxtPaint, mOuterBaselineOffset, itemLocationY, mBottomSepLineHeight, bottom);
             } else {
-                canvas.scale(1.0f, scaleY);
-                drawText(canvas, getText(i), mOuterTxtPaint, itemLocationY);
+                drawSlot(canvas, i, mOuterTxtPaint, mOuterBaselineOffset, itemLocationY, 0, 0);
             }
-            canvas.restore();
         }
-        canvas.translate(0, -top);
+        canvas.restoreToCount(saveCount);
         if (mEdgeGlowTop != null) {
             if (!mEdgeGlowTop.isFinished()) {
                 final int restoreCount = canvas.save();
@@ -334,23 +578,51 @@ public class ScrollWheelView extends View {
     }
 
     /**
-     * 获取对应位置上的文字
+     * 绘制一个槽位，画布只保存一层状态，最多裁剪一次后应用槽位的缩放矩阵
+     *
+     * @param clipTop    裁剪区域的顶部，与 clipBottom 相同时不裁剪
+     * @param clipBottom 裁剪区域的底部
      */
-    private String getText(int pos) {
-        int itemPos = pos + mCurrentIndex - mVisibleItemCount / 2;
-        if (itemPos < 0 || itemPos > mData.size() - 1) {
-            return "";
+    private void drawSlot(Canvas canvas, int pos, Paint paint, int baselineOffset, int height,
+                          float clipTop, float clipBottom) {
+        int saveCount = canvas.save();
+        if (clipTop != clipBottom) {
+            canvas.clipRect(getPaddingLeft(), clipTop, getMeasuredWidth() - getPaddingRight(), clipBottom);
         }
-        return mData.get(itemPos).getShowText();
+        canvas.concat(mSlotMatrix);
+        drawText(canvas, pos, paint, baselineOffset, height);
+        canvas.restoreToCount(saveCount);
+    }
+
+    /**
+     * 获取对应位置上的数据下标，超出数据范围时返回 -1，循环模式下对数据数量取模
+     */
+    private int getItemPosition(int pos) {
+        return WheelMath.getItemPosition(pos, mCurrentIndex, mVisibleItemCount, getItemCount(), mCyclic);
     }
 
     /**
      * 将文字居中绘制的方法
      */
-    private void drawText(Canvas canvas, String str, Paint paint, int height) {
+    private void drawText(Canvas canvas, int pos, Paint paint, int baselineOffset, int height) {
+        int itemPos = getItemPosition(pos);
+        if (itemPos < 0) {
+            return;
+        }
+        mItemRenderer.drawItem(canvas, itemPos, paint, baselineOffset, getMeasuredWidth() / 2, height);
+    }
+
+    /**
+     * 画笔改变后更新文字基线的偏移，避免在绘制时获取 FontMetricsInt
+     */
+    private void updateTextBaseline() {
+        mInnerBaselineOffset = getBaselineOffset(mInnerTxtPaint);
+        mOuterBaselineOffset = getBaselineOffset(mOuterTxtPaint);
+    }
+
+    private static int getBaselineOffset(Paint paint) {
         Paint.FontMetricsInt fm = paint.getFontMetricsInt();
-        int baseline = height + (fm.descent - fm.ascent) / 2 - fm.descent;
-        canvas.drawText(str, getMeasuredWidth() / 2, baseline, paint);
+        return (fm.descent - fm.ascent) / 2 - fm.descent;
     }
 
     /**
@@ -374,6 +646,8 @@ public class ScrollWheelView extends View {
                 if (!mScroller.isFinished()) {
                     mScroller.abortAnimation();
                 }
+                mIsAutoScrolling = false;
+                mPerformanceTracker.onGestureStart(getRefreshRate());
                 mIsBeingDragged = false;
                 mLastMotionY = (int) ev.getY();
                 mActivePointerId = ev.getPointerId(0);
@@ -400,6 +674,11 @@ public class ScrollWheelView extends View {
                 }
                 if (mIsBeingDragged) {
                     mLastMotionY = y;
+                    if (mCyclic) {
+                        // 循环模式没有边界，直接滚动
+                        scrollBy(0, deltaY);
+                        break;
+                    }
                     final int oldY = mCurrentOffset;
                     final int range = getTotalOffset();
                     final int overScrollMode = getOverScrollMode();
@@ -443,13 +722,18 @@ public class ScrollWheelView extends View {
                     velocityTracker.computeCurrentVelocity(1000, mMaximumVelocity);
                     int initialVelocity = (int) velocityTracker.getYVelocity(mActivePointerId);
                     if (Math.abs(initialVelocity) > mMinimumVelocity) {
+                        mPerformanceTracker.onRelease(true);
                         fling(-initialVelocity);
-                    } else if (mScroller.springBack(0, mCurrentOffset,
-                            0, 0, 0, getTotalOffset())) {
-                        postInvalidateOnAnimation();
+                    } else {
+                        mPerformanceTracker.onRelease(false);
+                        smoothScrollTo(getSnapOffset(mCurrentOffset), 0);
                     }
                     mActivePointerId = INVALID_POINTER;
                     endDrag();
+                } else {
+                    // 按下时打断的滚动可能停在 item 之间
+                    mPerformanceTracker.onRelease(false);
+                    smoothScrollTo(getSnapOffset(mCurrentOffset), 0);
                 }
                 mLastMotionY = 0;
                 break;
@@ -495,55 +779,90 @@ public class ScrollWheelView extends View {
         }
     }
 
+    /**
+     * 按匀减速模型预测 fling 停止的位置，对齐到最近的 item 后作为一次滚动的终点
+     */
     private void fling(int velocityY) {
-        mScroller.fling(0, mCurrentOffset,
-                0, velocityY,
-                0, 0,
-                Integer.MIN_VALUE, Integer.MAX_VALUE);
+        int distance = WheelPhysics.getFlingDistance(velocityY, mDeceleration);
+        smoothScrollTo(getSnapOffset(mCurrentOffset + distance), velocityY);
+    }
+
+    /**
+     * 滚动到目标偏移量，时长保证以初速度匀减速恰好停在终点
+     */
+    private void smoothScrollTo(int offset, float velocity) {
+        int distance = offset - mCurrentOffset;
+        if (distance == 0) {
+            onScrollSettled();
+            return;
+        }
+        long durationNanos = WheelPhysics.getDurationNanos(distance, velocity, mDeceleration);
+        mScroller.startScroll(0, mCurrentOffset, 0, distance, (int) (durationNanos / 1000000));
+        mIsAutoScrolling = true;
         postInvalidateOnAnimation();
     }
 
     /**
-     * fling过程调用的方法，由view触发
+     * 偏移量对齐到最近的 item，非循环模式下限制在数据范围内
+     */
+    private int getSnapOffset(int offset) {
+        return WheelMath.getSnapOffset(offset, mItemHeight, getItemCount(), mCyclic);
+    }
+
+    /**
+     * 滚动过程调用的方法，由view触发
+     * 终点已经在范围内，不会越界，最后一帧到达终点时直接回调停止
      */
     @Override
     public void computeScroll() {
-        if (mScroller.computeScrollOffset()) {
-            int oldY = mCurrentOffset;
-            int y = mScroller.getCurrY();
-            if (oldY != y) {
-                final int range = getTotalOffset();
-                overScrollBy(0, y - oldY,
-                        0, oldY,
-                        0, range,
-                        0, mOverFlingDistance, false);
-
-                final int overScrollMode = getOverScrollMode();
-                final boolean canOverScroll = overScrollMode == OVER_SCROLL_ALWAYS ||
-                        (overScrollMode == OVER_SCROLL_IF_CONTENT_SCROLLS && range > 0);
-                if (canOverScroll) {
-                    ensureGlows();
-                    if (y <= 0 && oldY > 0) {
-                        mEdgeGlowTop.onAbsorb((int) mScroller.getCurrVelocity());
-                    } else if (y >= range && oldY < range) {
-                        mEdgeGlowBottom.onAbsorb((int) mScroller.getCurrVelocity());
-                    }
-                }
-            }
+        mPerformanceTracker.onFrame();
+        if (!mIsAutoScrolling || !mScroller.computeScrollOffset()) {
+            return;
+        }
+        int y = mScroller.getCurrY();
+        if (y != mCurrentOffset) {
+            scrollTo(0, y);
+        }
+        if (mScroller.isFinished()) {
+            mIsAutoScrolling = false;
+            onScrollSettled();
+        } else {
             postInvalidateOnAnimation();
         }
     }
 
+    /**
+     * 对齐 item 的滚动结束，滚轮停止滚动，通知监听器选中的数据
+     */
+    private void onScrollSettled() {
+        // 循环模式下将偏移量收敛到一圈以内，避免一直滚动导致溢出
+        mCurrentOffset = WheelMath.normalizeOffset(mCurrentOffset, mItemHeight, getItemCount(), mCyclic);
+        if (getItemCount() > 0) {
+            mCurrentIndex = getIndexForOffset(mCurrentOffset);
+            notifyIndexChange();
+        }
+        mPerformanceTracker.onSettled();
+    }
+
+    /**
+     * 偏移量改变后提前排版新进入范围的文字，在滚动时触发，不占用绘制的时间
+     */
+    private void warmTexts() {
+        if (getItemCount() > 0 && mItemHeight > 0) {
+            mTextWarmer.onIndexChanged(getIndexForOffset(mCurrentOffset), mVisibleItemCount, mCyclic);
+        }
+    }
+
+    /**
+     * 偏移量对应的下标，循环模式下对数据数量取模
+     */
+    private int getIndexForOffset(int offset) {
+        return WheelMath.getIndexForOffset(offset, mItemHeight, getItemCount(), mCyclic);
+    }
+
     @Override
     protected void onOverScrolled(int scrollX, int scrollY, boolean clampedX, boolean clampedY) {
-        if (!mScroller.isFinished()) {
-            scrollTo(0, scrollY);
-            if (clampedY) {
-                mScroller.springBack(0, mCurrentOffset, 0, 0, 0, getTotalOffset());
-            }
-        } else {
-            scrollTo(scrollX, scrollY);
-        }
+        scrollTo(scrollX, scrollY);
     }
 
     @Override
@@ -554,9 +873,25 @@ public class ScrollWheelView extends View {
     @Override
     public void scrollTo(int x, int y) {
         mCurrentOffset = y;
+        warmTexts();
         invalidate();
     }
 
+    /**
+     * 离开窗口后不再调用 computeScroll，正在进行的滚动直接停在目标 item 上，与 WheelView 一致
+     * 异步数据不取消，离开窗口期间准备好的数据照常设置，重新添加到窗口后显示的是最新的数据
+     */
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (mIsAutoScrolling) {
+            mScroller.abortAnimation();
+            mIsAutoScrolling = false;
+            scrollTo(0, mScroller.getFinalY());
+            onScrollSettled();
+        }
+    }
+
     private void endDrag() {
         mIsBeingDragged = false;
         recycleVelocityTracker();
@@ -580,7 +915,7 @@ public class ScrollWheelView extends View {
     }
 
     private int getTotalOffset() {
-        return (mData.size() - 1) * mItemHeight;
+        return WheelMath.getMaxOffset(mItemHeight, getItemCount());
     }
 
     private int dp2px(float dpValue) {
@@ -588,6 +923,11 @@ public class ScrollWheelView extends View {
         return (int) (dpValue * scale + 0.5f);
     }
 
+    private float getRefreshRate() {
+        Display display = getDisplay();
+        return display != null ? display.getRefreshRate() : 0;
+    }
+
 
     public interface OnWheelChangeListener {
         /**
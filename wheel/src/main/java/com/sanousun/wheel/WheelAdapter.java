@@ -0,0 +1,23 @@
+package com.sanousun.wheel;
+
+/**
+ * 滚轮的数据源，滚轮只会查询可见范围内的数据，不需要预先构造所有的数据对象
+ */
+
+public interface WheelAdapter {
+
+    /**
+     * 获取数据的数量
+     *
+     * @return 数据数量
+     */
+    int getCount();
+
+    /**
+     * 获取对应下标展示的文案
+     *
+     * @param index 下标，0..getCount()-1
+     * @return 展示文案
+     */
+    String getText(int index);
+}
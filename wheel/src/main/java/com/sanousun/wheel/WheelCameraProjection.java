@@ -0,0 +1,91 @@
+package com.sanousun.wheel;
+
+import android.graphics.Camera;
+import android.graphics.Matrix;
+
+/**
+ * 立体的滚轮投影，item 绕 X 轴旋转并按透视缩小，效果与 iOS 的滚轮一致
+ * 与 {@link com.sanousun.wheel.core.WheelGeometry} 一样按 itemOffset 与槽位预先算出 Camera 的变换矩阵，
+ * 绘制时每个槽位只需要一次 concat
+ */
+
+final class WheelCameraProjection {
+
+    private static final int MATRIX_SIZE = 9;
+
+    private final Camera mCamera = new Camera();
+    private final Matrix mMatrix = new Matrix();
+    /**
+     * setValues 只接受长度为 9 的数组，取出缓存时复用
+     */
+    private final float[] mValues = new float[MATRIX_SIZE];
+
+    private double mRadius;
+    private double mItemAngle;
+    private int mItemHeight;
+    private int mSlotCount;
+    private float mCenterX;
+
+    /**
+     * 变换矩阵的数值，下标为 (itemOffset * mSlotCount + slot) * 9
+     */
+    private float[] mMatrices;
+
+    /**
+     * 构建缓存，参数未改变时不会重复计算
+     *
+     * @param centerX item 水平方向的中心，透视缩放以此为中心
+     */
+    void build(double radius, double itemAngle, int itemHeight, int visibleItemCount, float centerX) {
+        int slotCount = visibleItemCount + 1;
+        if (itemHeight <= 0) {
+            return;
+        }
+        if (mRadius == radius && mItemAngle == itemAngle && mItemHeight == itemHeight
+                && mSlotCount == slotCount && mCenterX == centerX) {
+            return;
+        }
+        mRadius = radius;
+        mItemAngle = itemAngle;
+        mItemHeight = itemHeight;
+        mSlotCount = slotCount;
+        mCenterX = centerX;
+        int size = itemHeight * slotCount * MATRIX_SIZE;
+        if (mMatrices == null || mMatrices.length != size) {
+            mMatrices = new float[size];
+        }
+        for (int itemOffset = 0; itemOffset < itemHeight; itemOffset++) {
+            double offsetAngle = -(itemAngle * (itemOffset * 1.0 / itemHeight));
+            for (int i = 0; i < slotCount; i++) {
+                // item 中心在滚轮上的角度，从顶部开始计算
+                double angle = (i + 0.5) * itemAngle + offsetAngle;
+                angle = Math.max(0, Math.min(angle, Math.PI));
+                // 相对正面的倾斜角度，上方的 item 向后倾斜
+                float degrees = (float) Math.toDegrees(Math.PI / 2 - angle);
+                // item 中心到滚轮正面的深度
+                float depth = (float) (radius * (1 - Math.sin(angle)));
+                float centerY = (float) ((1 - Math.cos(angle)) * radius);
+                mCamera.save();
+                mCamera.translate(0, 0, depth);
+                mCamera.rotateX(degrees);
+                mCamera.getMatrix(mMatrix);
+                mCamera.restore();
+                // item 以 (centerX, 0) 为中心绘制，变换后移动到滚轮上的位置
+                mMatrix.preTranslate(-centerX, 0);
+                mMatrix.postTranslate(centerX, centerY);
+                mMatrix.getValues(mValues);
+                System.arraycopy(mValues, 0, mMatrices,
+                        (itemOffset * slotCount + i) * MATRIX_SIZE, MATRIX_SIZE);
+            }
+        }
+    }
+
+    /**
+     * 将槽位的变换矩阵取出到 matrix 中
+     */
+    void getMatrix(int itemOffset, int slot, Matrix matrix) {
+        System.arraycopy(mMatrices, (itemOffset * mSlotCount + slot) * MATRIX_SIZE,
+                mValues, 0, MATRIX_SIZE);
+        matrix.setValues(mValues);
+    }
+}
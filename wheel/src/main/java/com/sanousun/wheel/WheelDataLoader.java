@@ -0,0 +1,76 @@
+package com.sanousun.wheel;
+
+import android.graphics.Paint;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * 在后台线程准备滚轮的数据，完成后回到主线程一次性发布
+ * 新的请求或者同步设置数据都会使之前的请求过期
+ */
+
+final class WheelDataLoader {
+
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    /**
+     * 请求的序号，只在主线程读写
+     */
+    private int mGeneration;
+    private Future<?> mPending;
+
+    /**
+     * 开始准备数据，画笔会在主线程复制一份给后台线程使用
+     */
+    void load(final List<WheelBean> data, Paint innerTxtPaint, Paint outerTxtPaint,
+              final Callback callback) {
+        cancel();
+        final int generation = mGeneration;
+        final Paint innerPaint = new Paint(innerTxtPaint);
+        final Paint outerPaint = new Paint(outerTxtPaint);
+        mPending = WheelExecutors.background().submit(new Runnable() {
+            @Override
+            public void run() {
+                final PreparedWheelAdapter adapter =
+                        PreparedWheelAdapter.prepare(data, innerPaint, outerPaint);
+                if (adapter == null) {
+                    return;
+                }
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != mGeneration) {
+                            return;
+                        }
+                        mPending = null;
+                        callback.onPrepared(adapter);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * 取消正在进行的请求
+     */
+    void cancel() {
+        mGeneration++;
+        if (mPending != null) {
+            mPending.cancel(true);
+            mPending = null;
+        }
+    }
+
+    boolean isLoading() {
+        return mPending != null;
+    }
+
+    interface Callback {
+        /**
+         * 数据准备完成，在主线程回调
+         */
+        void onPrepared(PreparedWheelAdapter adapter);
+    }
+}
@@ -0,0 +1,43 @@
+package com.sanousun.wheel;
+
+import android.os.Process;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 滚轮共享的后台线程，用于数据准备等不需要在主线程执行的任务
+ */
+
+final class WheelExecutors {
+
+    private static volatile ExecutorService sBackground;
+
+    private WheelExecutors() {
+    }
+
+    static ExecutorService background() {
+        if (sBackground == null) {
+            synchronized (WheelExecutors.class) {
+                if (sBackground == null) {
+                    sBackground = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                        @Override
+                        public Thread newThread(final Runnable r) {
+                            Thread thread = new Thread(new Runnable() {
+                                @Override
+                                public void run() {
+                                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                                    r.run();
+                                }
+                            }, "wheel-background");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+                }
+            }
+        }
+        return sBackground;
+    }
+}
@@ -0,0 +1,202 @@
+package com.sanousun.wheel;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.LongSparseArray;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 滚轮图标的加载，所有滚轮共享同一个按字节数限制大小的缓存
+ * 图标在后台线程解码并保持宽高比缩放到 size × size 的方框内，完成后刷新等待该图标的滚轮
+ * 除了解码，所有的状态只在主线程读写，绘制时按 long 类型的 key 查询，不会装箱
+ * 共享的后台线程上同时只有一个解码任务，其余的请求在主线程排队，每次取最近一次被绘制请求的图标，
+ * fling 时先解码最终停留的 item；一段时间没有再被请求的图标已经不在显示区域，放弃解码
+ * 解码失败的图标间隔一段时间后重试
+ */
+
+final class WheelIconLoader {
+
+    /**
+     * 图标缓存占用的最大内存比例
+     */
+    private static final int CACHE_MEMORY_FRACTION = 32;
+    /**
+     * 超过这个时间没有再被绘制请求的图标放弃解码，ms
+     */
+    private static final long STALE_MILLIS = 500;
+    /**
+     * 解码失败后重试的间隔，ms
+     */
+    private static final long RETRY_MILLIS = 10000;
+
+    private static final Handler sMainHandler = new Handler(Looper.getMainLooper());
+    private static final WheelLruCache<Bitmap> sCache =
+            new WheelLruCache<Bitmap>((int) (Runtime.getRuntime().maxMemory() / CACHE_MEMORY_FRACTION)) {
+                @Override
+                protected int sizeOf(Bitmap value) {
+                    return value.getByteCount();
+                }
+            };
+    /**
+     * 排队等待解码的图标
+     */
+    private static final LongSparseArray<Request> sPending = new LongSparseArray<>();
+    /**
+     * 正在解码的图标，同时最多只有一个
+     */
+    private static Request sDecoding;
+    /**
+     * 解码失败的图标以及失败的时间
+     */
+    private static final LongSparseArray<Long> sFailed = new LongSparseArray<>();
+
+    private WheelIconLoader() {
+    }
+
+    /**
+     * 获取缩放到 size × size 方框内的图标，还没有解码时开始解码并返回 null，完成后刷新 host
+     * 绘制时每一帧都会调用，同时刷新请求的时间
+     */
+    static Bitmap get(View host, int resId, int size) {
+        long key = ((long) resId << 32) | size;
+        Bitmap bitmap = sCache.get(key);
+        if (bitmap != null) {
+            return bitmap;
+        }
+        long now = SystemClock.uptimeMillis();
+        Long failedAt = sFailed.get(key);
+        if (failedAt != null) {
+            if (now - failedAt < RETRY_MILLIS) {
+                return null;
+            }
+            sFailed.remove(key);
+        }
+        Request request = sDecoding != null && sDecoding.mKey == key ? sDecoding : sPending.get(key);
+        if (request == null) {
+            request = new Request(key, host.getContext().getApplicationContext().getResources(), resId, size);
+            sPending.put(key, request);
+        }
+        request.mRequestedAt = now;
+        if (!request.mHosts.contains(host)) {
+            request.mHosts.add(host);
+        }
+        if (sDecoding == null) {
+            decodeNext(now);
+        }
+        return null;
+    }
+
+    /**
+     * 放弃过期的请求，开始解码最近一次被请求的图标
+     * 过期请求的滚轮会被刷新，如果图标仍然显示，绘制时会重新请求
+     */
+    private static void decodeNext(long now) {
+        Request next = null;
+        for (int i = sPending.size() - 1; i >= 0; i--) {
+            Request request = sPending.valueAt(i);
+            if (now - request.mRequestedAt > STALE_MILLIS) {
+                sPending.removeAt(i);
+                request.invalidateHosts();
+            } else if (next == null || request.mRequestedAt > next.mRequestedAt) {
+                next = request;
+            }
+        }
+        if (next == null) {
+            return;
+        }
+        sPending.remove(next.mKey);
+        sDecoding = next;
+        final Request request = next;
+        WheelExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                final Bitmap decoded = decode(request.mResources, request.mResId, request.mSize);
+                sMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        onDecoded(request, decoded);
+                    }
+                });
+            }
+        });
+    }
+
+    private static void onDecoded(Request request, Bitmap decoded) {
+        long now = SystemClock.uptimeMillis();
+        if (decoded != null) {
+            sCache.put(request.mKey, decoded);
+        } else {
+            sFailed.put(request.mKey, now);
+        }
+        sDecoding = null;
+        request.invalidateHosts();
+        decodeNext(now);
+    }
+
+    /**
+     * 先按 2 的幂次采样解码，再按较长的一边缩放到方框内，宽图标不会超出方框压到文字
+     */
+    static Bitmap decode(Resources resources, int resId, int size) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeResource(resources, resId, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
+        }
+        int longSide = Math.max(options.outWidth, options.outHeight);
+        int sampleSize = 1;
+        while (longSide / (sampleSize * 2) >= size) {
+            sampleSize *= 2;
+        }
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = sampleSize;
+        Bitmap bitmap = BitmapFactory.decodeResource(resources, resId, options);
+        if (bitmap == null || Math.max(bitmap.getWidth(), bitmap.getHeight()) == size) {
+            return bitmap;
+        }
+        float scale = (float) size / Math.max(bitmap.getWidth(), bitmap.getHeight());
+        int width = Math.max(1, Math.round(bitmap.getWidth() * scale));
+        int height = Math.max(1, Math.round(bitmap.getHeight() * scale));
+        Bitmap scaled = Bitmap.createScaledBitmap(bitmap, width, height, true);
+        if (scaled != bitmap) {
+            bitmap.recycle();
+        }
+        return scaled;
+    }
+
+    /**
+     * 一个图标的解码请求以及等待它的滚轮
+     */
+    private static final class Request {
+
+        final long mKey;
+        final Resources mResources;
+        final int mResId;
+        final int mSize;
+        final List<View> mHosts = new ArrayList<>();
+        /**
+         * 最近一次被绘制请求的时间
+         */
+        long mRequestedAt;
+
+        Request(long key, Resources resources, int resId, int size) {
+            mKey = key;
+            mResources = resources;
+            mResId = resId;
+            mSize = size;
+        }
+
+        void invalidateHosts() {
+            for (int i = 0; i < mHosts.size(); i++) {
+                mHosts.get(i).invalidate();
+            }
+        }
+    }
+}
@@ -0,0 +1,467 @@
+package com.sanousun.wheel;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Picture;
+import android.os.Build;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.view.View;
+
+/**
+ * 滚轮 item 的绘制
+ * 默认直接绘制文字，也可以将文字按分割线内外两种样式预先栅格化成位图，通过 {@link WheelLruCache} 复用，
+ * 滚动时只需要绘制位图，避免每一帧都进行文字排版
+ * 也可以将文字录制成 Picture 显示列表，排版只在录制时进行一次，滚动时直接回放
+ * 数字数据源会将文字格式化到复用的字符数组中进行绘制，不会创建字符串
+ * 文字超出可用宽度时可以缩小字号或者截断，每个 item 只在第一次绘制时测量，结果缓存到宽度或者数据改变
+ * {@link IconWheelBean} 的图标绘制在左侧，解码完成前绘制占位，文字在图标右侧剩余的宽度内居中
+ */
+
+final class WheelItemRenderer {
+
+    /**
+     * 每一帧直接绘制文字
+     */
+    static final int MODE_TEXT = 0;
+    /**
+     * 绘制预先栅格化的文字位图
+     */
+    static final int MODE_BITMAP = 1;
+    /**
+     * 回放预先录制的显示列表，硬件加速的画布需要 API 23 才支持 Picture，更低的版本直接绘制文字
+     */
+    static final int MODE_DISPLAY_LIST = 2;
+
+    /**
+     * 不处理超出宽度的文字
+     */
+    static final int FIT_NONE = 0;
+    /**
+     * 缩小字号直到放下，最多缩小到 {@link #MIN_FIT_SCALE}，仍然放不下时截断
+     */
+    static final int FIT_SHRINK = 1;
+    /**
+     * 保持字号，末尾截断为省略号
+     */
+    static final int FIT_ELLIPSIZE = 2;
+
+    /**
+     * 自适应时字号的最小缩放比例
+     */
+    private static final float MIN_FIT_SCALE = 0.6f;
+    /**
+     * 自适应结果缓存的数量，分割线内外各自缓存
+     */
+    private static final int FIT_CACHE_SIZE = 256;
+    /**
+     * 图标占位的透明度
+     */
+    private static final int PLACEHOLDER_ALPHA = 0x33;
+
+    /**
+     * 图标加载完成后需要刷新的滚轮
+     */
+    private final View mHost;
+
+    /**
+     * 位图缓存默认占用的最大内存比例，分割线内外各占一半
+     */
+    private static final int CACHE_MEMORY_FRACTION = 64;
+    /**
+     * 显示列表缓存的数量，分割线内外各自缓存
+     */
+    private static final int DISPLAY_LIST_CACHE_SIZE = 64;
+
+    private final Paint mInnerTxtPaint;
+    private final Paint mOuterTxtPaint;
+    private final Paint mBitmapPaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
+    private final Paint mIconPaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
+    private final Paint mPlaceholderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    private int mMode = MODE_TEXT;
+    private int mItemHeight;
+
+    private WheelAdapter mAdapter;
+    /**
+     * 数字数据源绘制时复用的字符数组
+     */
+    private char[] mTextBuffer;
+
+    private LabelCache mInnerCache;
+    private LabelCache mOuterCache;
+    private WheelLruCache<Picture> mInnerDisplayLists;
+    private WheelLruCache<Picture> mOuterDisplayLists;
+
+    private int mFitMode = FIT_NONE;
+    /**
+     * item 文字可用的宽度
+     */
+    private int mAvailableWidth;
+    private WheelLruCache<FittedText> mInnerFits;
+    private WheelLruCache<FittedText> mOuterFits;
+    /**
+     * 截断文字时测量使用的画笔
+     */
+    private TextPaint mMeasurePaint;
+
+    WheelItemRenderer(View host, Paint innerTxtPaint, Paint outerTxtPaint) {
+        mHost = host;
+        mInnerTxtPaint = innerTxtPaint;
+        mOuterTxtPaint = outerTxtPaint;
+    }
+
+    void setMode(int mode) {
+        if (mMode == mode) {
+            return;
+        }
+        mMode = mode;
+        clear();
+        mInnerCache = null;
+        mOuterCache = null;
+        mInnerDisplayLists = null;
+        mOuterDisplayLists = null;
+        if (mode == MODE_BITMAP) {
+            int cacheSize = (int) (Runtime.getRuntime().maxMemory() / CACHE_MEMORY_FRACTION / 2);
+            mInnerCache = new LabelCache(cacheSize);
+            mOuterCache = new LabelCache(cacheSize);
+        } else if (mode == MODE_DISPLAY_LIST) {
+            mInnerDisplayLists = new WheelLruCache<>(DISPLAY_LIST_CACHE_SIZE);
+            mOuterDisplayLists = new WheelLruCache<>(DISPLAY_LIST_CACHE_SIZE);
+        }
+    }
+
+    int getMode() {
+        return mMode;
+    }
+
+    void setFitMode(int fitMode) {
+        if (mFitMode == fitMode) {
+            return;
+        }
+        mFitMode = fitMode;
+        if (fitMode == FIT_NONE) {
+            mInnerFits = null;
+            mOuterFits = null;
+        } else {
+            mInnerFits = new WheelLruCache<>(FIT_CACHE_SIZE);
+            mOuterFits = new WheelLruCache<>(FIT_CACHE_SIZE);
+            if (mMeasurePaint == null) {
+                mMeasurePaint = new TextPaint();
+            }
+        }
+        clear();
+    }
+
+    /**
+     * 可用宽度改变后自适应的结果以及以此生成的缓存都需要重新计算
+     */
+    void setAvailableWidth(int availableWidth) {
+        if (mAvailableWidth == availableWidth) {
+            return;
+        }
+        mAvailableWidth = availableWidth;
+        if (mFitMode != FIT_NONE) {
+            clear();
+        }
+    }
+
+    /**
+     * item 高度改变后已有的位图无法复用
+     */
+    void setItemHeight(int itemHeight) {
+        if (mItemHeight != itemHeight) {
+            mItemHeight = itemHeight;
+            clear();
+        }
+    }
+
+    /**
+     * 数据源改变时清空缓存
+     */
+    void setAdapter(WheelAdapter adapter) {
+        mAdapter = adapter;
+        if (adapter instanceof NumericWheelAdapter) {
+            int length = ((NumericWheelAdapter) adapter).getMaxTextLength();
+            if (mTextBuffer == null || mTextBuffer.length < length) {
+                mTextBuffer = new char[length];
+            }
+        }
+        clear();
+    }
+
+    /**
+     * 数据或者画笔改变时清空缓存
+     */
+    void clear() {
+        if (mInnerCache != null) {
+            mInnerCache.evictAll();
+        }
+        if (mOuterCache != null) {
+            mOuterCache.evictAll();
+        }
+        if (mInnerDisplayLists != null) {
+            mInnerDisplayLists.evictAll();
+        }
+        if (mOuterDisplayLists != null) {
+            mOuterDisplayLists.evictAll();
+        }
+        if (mInnerFits != null) {
+            mInnerFits.evictAll();
+        }
+        if (mOuterFits != null) {
+            mOuterFits.evictAll();
+        }
+    }
+
+    /**
+     * 绘制 item，画布已经完成了缩放
+     *
+     * @param index          数据的下标，作为缓存的 key
+     * @param baselineOffset 文字基线相对 item 中心的偏移
+     * @param centerX        item 水平方向的中心
+     * @param centerY        item 缩放前的中心
+     */
+    void drawItem(Canvas canvas, int index, Paint paint,
+                  int baselineOffset, float centerX, int centerY) {
+        int iconRes = getIconRes(index);
+        if (iconRes != 0) {
+            drawIcon(canvas, iconRes, paint, centerX, centerY);
+            // 文字在图标右侧剩余的宽度内居中
+            centerX += getIconSpace() / 2f;
+        }
+        if (mMode == MODE_DISPLAY_LIST && mItemHeight > 0 && canDrawPicture(canvas)) {
+            drawDisplayList(canvas, index, paint, baselineOffset, centerX, centerY);
+            return;
+        }
+        if (mMode != MODE_BITMAP || mItemHeight <= 0) {
+            if (mFitMode != FIT_NONE) {
+                drawFittedText(canvas, getFittedText(index, paint), paint, baselineOffset, centerX, centerY);
+            } else if (mAdapter instanceof NumericWheelAdapter) {
+                int length = ((NumericWheelAdapter) mAdapter).getText(index, mTextBuffer);
+                canvas.drawText(mTextBuffer, 0, length, centerX, centerY + baselineOffset, paint);
+            } else {
+                canvas.drawText(mAdapter.getText(index), centerX, centerY + baselineOffset, paint);
+            }
+            return;
+        }
+        LabelCache cache = paint == mInnerTxtPaint ? mInnerCache : mOuterCache;
+        Bitmap label = cache.get(index);
+        if (label == null) {
+            label = rasterize(index, paint, baselineOffset);
+            if (label == null) {
+                return;
+            }
+            cache.put(index, label);
+        }
+        // ALPHA_8 的位图使用画笔的颜色进行绘制
+        mBitmapPaint.setColor(paint.getColor());
+        canvas.drawBitmap(label, centerX - label.getWidth() / 2, centerY - mItemHeight / 2, mBitmapPaint);
+    }
+
+    /**
+     * 图标的资源 id，没有图标时返回 0
+     */
+    private int getIconRes(int index) {
+        if (!(mAdapter instanceof ListWheelAdapter) || mItemHeight <= 0) {
+            return 0;
+        }
+        WheelBean bean = ((ListWheelAdapter) mAdapter).getItem(index);
+        return bean instanceof IconWheelBean ? ((IconWheelBean) bean).getIconRes() : 0;
+    }
+
+    private int getIconSize() {
+        return mItemHeight * 2 / 3;
+    }
+
+    /**
+     * 图标加上与文字之间的间距所占的宽度，间距为图标大小的一半
+     */
+    private int getIconSpace() {
+        int size = getIconSize();
+        return size + size / 2;
+    }
+
+    /**
+     * item 文字可用的宽度，有图标时除去图标所占的宽度
+     */
+    private int getTextWidth(int index) {
+        if (getIconRes(index) == 0) {
+            return mAvailableWidth;
+        }
+        return Math.max(0, mAvailableWidth - getIconSpace());
+    }
+
+    /**
+     * 图标固定在可用宽度的左侧，占据边长为 item 高度 2/3 的方框，不是正方形的图标在方框内居中
+     */
+    private void drawIcon(Canvas canvas, int resId, Paint paint, float centerX, int centerY) {
+        int size = getIconSize();
+        float left = centerX - mAvailableWidth / 2f;
+        float top = centerY - size / 2f;
+        Bitmap icon = WheelIconLoader.get(mHost, resId, size);
+        if (icon == null) {
+            mPlaceholderPaint.setColor(paint.getColor());
+            mPlaceholderPaint.setAlpha(PLACEHOLDER_ALPHA);
+            canvas.drawRect(left, top, left + size, top + size, mPlaceholderPaint);
+            return;
+        }
+        // 图标的透明度与文字一致
+        mIconPaint.setAlpha(Color.alpha(paint.getColor()));
+        canvas.drawBitmap(icon, left + (size - icon.getWidth()) / 2f, top + (size - icon.getHeight()) / 2f,
+                mIconPaint);
+    }
+
+    private void drawDisplayList(Canvas canvas, int index, Paint paint,
+                                 int baselineOffset, float centerX, int centerY) {
+        WheelLruCache<Picture> cache = paint == mInnerTxtPaint ? mInnerDisplayLists : mOuterDisplayLists;
+        Picture picture = cache.get(index);
+        if (picture == null) {
+            picture = record(index, paint, baselineOffset);
+            cache.put(index, picture);
+        }
+        // 平移后回放，避免额外保存画布状态
+        float dx = centerX - picture.getWidth() / 2;
+        float dy = centerY - mItemHeight / 2;
+        canvas.translate(dx, dy);
+        canvas.drawPicture(picture);
+        canvas.translate(-dx, -dy);
+    }
+
+    /**
+     * 将文字录制到一个 item 高度的显示列表中，文字水平居中
+     */
+    private Picture record(int index, Paint paint, int baselineOffset) {
+        FittedText label = getLabel(index, paint);
+        int width = (int) Math.ceil(label.mWidth) + 2;
+        Picture picture = new Picture();
+        Canvas canvas = picture.beginRecording(width, mItemHeight);
+        drawFittedText(canvas, label, paint, baselineOffset, width / 2f, mItemHeight / 2);
+        picture.endRecording();
+        return picture;
+    }
+
+    /**
+     * 硬件加速的画布在 API 23 之前不支持绘制 Picture
+     */
+    private static boolean canDrawPicture(Canvas canvas) {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.M || !canvas.isHardwareAccelerated();
+    }
+
+    /**
+     * 将文字绘制到一个 item 高度的透明度位图上
+     */
+    private Bitmap rasterize(int index, Paint paint, int baselineOffset) {
+        FittedText label = getLabel(index, paint);
+        // 左右各留出 1px，避免抗锯齿的边缘被裁掉
+        int width = (int) Math.ceil(label.mWidth) + 2;
+        if (width <= 2) {
+            return null;
+        }
+        Bitmap bitmap = Bitmap.createBitmap(width, mItemHeight, Bitmap.Config.ALPHA_8);
+        Canvas canvas = new Canvas(bitmap);
+        drawFittedText(canvas, label, paint, baselineOffset, width / 2f, mItemHeight / 2);
+        return bitmap;
+    }
+
+    /**
+     * 栅格化或者录制时使用的文字以及宽度
+     */
+    private FittedText getLabel(int index, Paint paint) {
+        if (mFitMode != FIT_NONE) {
+            return getFittedText(index, paint);
+        }
+        String text = mAdapter.getText(index);
+        // 预先准备的数据已经测量过宽度
+        float textWidth = mAdapter instanceof PreparedWheelAdapter
+                ? ((PreparedWheelAdapter) mAdapter).getTextWidth(index, paint == mInnerTxtPaint)
+                : paint.measureText(text);
+        return new FittedText(text, paint.getTextSize(), textWidth);
+    }
+
+    private FittedText getFittedText(int index, Paint paint) {
+        WheelLruCache<FittedText> cache = paint == mInnerTxtPaint ? mInnerFits : mOuterFits;
+        FittedText fitted = cache.get(index);
+        if (fitted == null) {
+            fitted = fit(index, paint);
+            cache.put(index, fitted);
+        }
+        return fitted;
+    }
+
+    /**
+     * 按可用宽度计算 item 的字号或者截断后的文字，有图标时只使用图标右侧的宽度
+     */
+    private FittedText fit(int index, Paint paint) {
+        String text = mAdapter.getText(index);
+        int availableWidth = getTextWidth(index);
+        float textSize = paint.getTextSize();
+        float textWidth = mAdapter instanceof PreparedWheelAdapter
+                ? ((PreparedWheelAdapter) mAdapter).getTextWidth(index, paint == mInnerTxtPaint)
+                : paint.measureText(text);
+        if (mAvailableWidth <= 0 || textWidth <= availableWidth) {
+            return new FittedText(text, textSize, textWidth);
+        }
+        if (mFitMode == FIT_SHRINK) {
+            float scale = Math.max(availableWidth / textWidth, MIN_FIT_SCALE);
+            textSize *= scale;
+            textWidth *= scale;
+            if (textWidth <= availableWidth) {
+                return new FittedText(text, textSize, textWidth);
+            }
+        }
+        mMeasurePaint.set(paint);
+        mMeasurePaint.setTextSize(textSize);
+        String ellipsized = TextUtils.ellipsize(text, mMeasurePaint, availableWidth,
+                TextUtils.TruncateAt.END).toString();
+        return new FittedText(ellipsized, textSize, mMeasurePaint.measureText(ellipsized));
+    }
+
+    /**
+     * 按自适应的字号绘制文字，基线的偏移随字号等比缩放
+     */
+    private static void drawFittedText(Canvas canvas, FittedText label, Paint paint,
+                                       int baselineOffset, float x, int centerY) {
+        float textSize = paint.getTextSize();
+        if (label.mTextSize == textSize) {
+            canvas.drawText(label.mText, x, centerY + baselineOffset, paint);
+            return;
+        }
+        paint.setTextSize(label.mTextSize);
+        canvas.drawText(label.mText, x, centerY + baselineOffset * label.mTextSize / textSize, paint);
+        paint.setTextSize(textSize);
+    }
+
+    /**
+     * 实际绘制的文字、字号以及宽度
+     */
+    private static class FittedText {
+
+        final String mText;
+        final float mTextSize;
+        final float mWidth;
+
+        FittedText(String text, float textSize, float width) {
+            mText = text;
+            mTextSize = textSize;
+            mWidth = width;
+        }
+    }
+
+    /**
+     * 以数据下标为 key，按位图占用的字节数计算大小，查询时下标不会装箱
+     */
+    private static class LabelCache extends WheelLruCache<Bitmap> {
+
+        LabelCache(int maxSize) {
+            super(maxSize);
+        }
+
+        @Override
+        protected int sizeOf(Bitmap value) {
+            return value.getByteCount();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.sanousun.wheel;
+
+import android.util.LongSparseArray;
+
+/**
+ * 以 long 为 key 的 LRU 缓存，用法与 {@link android.util.LruCache} 一致
+ * 绘制时每一帧都会查询，LruCache 的 key 是对象，超出 Integer/Long 缓存范围的 key 每次查询都会装箱；
+ * 这里按 key 二分查找，访问顺序用双向链表维护，查询和命中后调整顺序都不会分配对象，只有放入新的值时才会创建节点
+ * 只在主线程使用，不做同步
+ */
+
+class WheelLruCache<V> {
+
+    private final LongSparseArray<Entry<V>> mEntries = new LongSparseArray<>();
+    /**
+     * 访问顺序链表的哨兵，next 是最近访问的，prev 是最久没有访问的
+     */
+    private final Entry<V> mHead = new Entry<>(0, null, 0);
+    private final int mMaxSize;
+    private int mSize;
+
+    WheelLruCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize <= 0");
+        }
+        mMaxSize = maxSize;
+        mHead.mPrev = mHead;
+        mHead.mNext = mHead;
+    }
+
+    final V get(long key) {
+        Entry<V> entry = mEntries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (mHead.mNext != entry) {
+            unlink(entry);
+            linkFirst(entry);
+        }
+        return entry.mValue;
+    }
+
+    final void put(long key, V value) {
+        Entry<V> previous = mEntries.get(key);
+        if (previous != null) {
+            unlink(previous);
+            mSize -= previous.mSize;
+        }
+        Entry<V> entry = new Entry<>(key, value, sizeOf(value));
+        mEntries.put(key, entry);
+        linkFirst(entry);
+        mSize += entry.mSize;
+        trimToSize(mMaxSize);
+    }
+
+    final void evictAll() {
+        trimToSize(-1);
+    }
+
+    /**
+     * 值占用的大小，默认每个值为 1
+     */
+    protected int sizeOf(V value) {
+        return 1;
+    }
+
+    private void trimToSize(int maxSize) {
+        while (mSize > maxSize && mHead.mPrev != mHead) {
+            Entry<V> eldest = mHead.mPrev;
+            unlink(eldest);
+            mEntries.remove(eldest.mKey);
+            mSize -= eldest.mSize;
+        }
+    }
+
+    private void linkFirst(Entry<V> entry) {
+        entry.mPrev = mHead;
+        entry.mNext = mHead.mNext;
+        mHead.mNext.mPrev = entry;
+        mHead.mNext = entry;
+    }
+
+    private static <V> void unlink(Entry<V> entry) {
+        entry.mPrev.mNext = entry.mNext;
+        entry.mNext.mPrev = entry.mPrev;
+        entry.mPrev = null;
+        entry.mNext = null;
+    }
+
+    private static class Entry<V> {
+
+        final long mKey;
+        final V mValue;
+        final int mSize;
+        Entry<V> mPrev;
+        Entry<V> mNext;
+
+        Entry(long key, V value, int size) {
+            mKey = key;
+            mValue = value;
+            mSize = size;
+        }
+    }
+}
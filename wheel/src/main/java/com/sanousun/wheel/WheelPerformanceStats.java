@@ -0,0 +1,122 @@
+package com.sanousun.wheel;
+
+/**
+ * 一次滚动手势的性能统计，从手指按下开始，到滚轮停止滚动结束
+ * 耗时使用直方图汇总，桶的上界见 {@link #getBucketBoundsUs()}
+ */
+
+public class WheelPerformanceStats {
+
+    /**
+     * 直方图每个桶的上界（微秒），最后一个桶统计超过 66.7ms 的部分
+     */
+    private static final int[] BUCKET_BOUNDS_US = {500, 1000, 2000, 4000, 8000, 16667, 33333, 66667};
+
+    /**
+     * 直方图桶的数量
+     */
+    public static final int BUCKET_COUNT = BUCKET_BOUNDS_US.length + 1;
+
+    final int[] mDrawTimeHistogram = new int[BUCKET_COUNT];
+    final int[] mFrameIntervalHistogram = new int[BUCKET_COUNT];
+    int mFrameCount;
+    int mLateFrameCount;
+    int mDroppedFrameCount;
+    long mTotalDrawTimeNanos;
+    long mMaxDrawTimeNanos;
+    long mFrameIntervalNanos;
+    long mGestureDurationNanos;
+    long mSettleLatencyNanos = -1;
+    boolean mFling;
+
+    WheelPerformanceStats() {
+    }
+
+    /**
+     * 直方图每个桶的上界（微秒），返回的是副本
+     */
+    public static int[] getBucketBoundsUs() {
+        return BUCKET_BOUNDS_US.clone();
+    }
+
+    /**
+     * onDraw 耗时的直方图
+     */
+    public int[] getDrawTimeHistogram() {
+        return mDrawTimeHistogram.clone();
+    }
+
+    /**
+     * 相邻两帧间隔的直方图
+     */
+    public int[] getFrameIntervalHistogram() {
+        return mFrameIntervalHistogram.clone();
+    }
+
+    /**
+     * 绘制的帧数
+     */
+    public int getFrameCount() {
+        return mFrameCount;
+    }
+
+    /**
+     * 帧间隔超过 1.5 倍刷新周期的帧数
+     */
+    public int getLateFrameCount() {
+        return mLateFrameCount;
+    }
+
+    /**
+     * 根据帧间隔推算出的丢帧数
+     */
+    public int getDroppedFrameCount() {
+        return mDroppedFrameCount;
+    }
+
+    public long getTotalDrawTimeNanos() {
+        return mTotalDrawTimeNanos;
+    }
+
+    public long getMaxDrawTimeNanos() {
+        return mMaxDrawTimeNanos;
+    }
+
+    /**
+     * 统计时使用的屏幕刷新周期
+     */
+    public long getFrameIntervalNanos() {
+        return mFrameIntervalNanos;
+    }
+
+    /**
+     * 从手指按下到停止滚动的总时长
+     */
+    public long getGestureDurationNanos() {
+        return mGestureDurationNanos;
+    }
+
+    /**
+     * 从手指抬起到停止滚动的时长，手势被新的触摸打断时为 -1
+     */
+    public long getSettleLatencyNanos() {
+        return mSettleLatencyNanos;
+    }
+
+    /**
+     * 手指抬起时是否触发了 fling
+     */
+    public boolean isFling() {
+        return mFling;
+    }
+
+    static int bucketOf(long nanos) {
+        long micros = nanos / 1000;
+        for (int i = 0; i < BUCKET_BOUNDS_US.length; i++) {
+            if (micros <= BUCKET_BOUNDS_US[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_US.length;
+    }
+}
@@ -0,0 +1,127 @@
+package com.sanousun.wheel;
+
+/**
+ * 滚轮的性能统计，没有设置监听器时不做任何计时
+ */
+
+final class WheelPerformanceTracker {
+
+    private static final long DEFAULT_FRAME_INTERVAL_NANOS = 1000000000L / 60;
+    /**
+     * 帧间隔超过该倍数的刷新周期认为是手指停留而不是卡顿，不计入统计
+     */
+    private static final int IDLE_FRAME_MULTIPLE = 6;
+
+    private OnWheelPerformanceListener mListener;
+    private WheelPerformanceStats mStats;
+
+    private long mGestureStartNanos;
+    private long mReleaseNanos;
+    private long mLastFrameNanos;
+
+    void setListener(OnWheelPerformanceListener listener) {
+        mListener = listener;
+        if (listener == null) {
+            mStats = null;
+        }
+    }
+
+    boolean isEnabled() {
+        return mListener != null;
+    }
+
+    /**
+     * 手指按下，开始新的手势，未结束的手势视为被打断
+     */
+    void onGestureStart(float refreshRate) {
+        if (mListener == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (mStats != null) {
+            deliver(now);
+        }
+        mStats = new WheelPerformanceStats();
+        mStats.mFrameIntervalNanos = refreshRate > 0
+                ? (long) (1000000000L / refreshRate) : DEFAULT_FRAME_INTERVAL_NANOS;
+        mGestureStartNanos = now;
+        mReleaseNanos = 0;
+        mLastFrameNanos = 0;
+    }
+
+    /**
+     * 手指抬起
+     */
+    void onRelease(boolean fling) {
+        if (mStats == null) {
+            return;
+        }
+        mReleaseNanos = System.nanoTime();
+        mStats.mFling = fling;
+    }
+
+    /**
+     * 每一帧调用一次，统计帧间隔
+     */
+    void onFrame() {
+        if (mStats == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (mLastFrameNanos != 0) {
+            long interval = now - mLastFrameNanos;
+            long budget = mStats.mFrameIntervalNanos;
+            if (interval < budget * IDLE_FRAME_MULTIPLE) {
+                mStats.mFrameIntervalHistogram[WheelPerformanceStats.bucketOf(interval)]++;
+                if (interval * 2 > budget * 3) {
+                    mStats.mLateFrameCount++;
+                    mStats.mDroppedFrameCount += (int) ((interval + budget / 2) / budget) - 1;
+                }
+            }
+        }
+        mLastFrameNanos = now;
+    }
+
+    /**
+     * @return 绘制开始的时间，未开启统计时返回 0
+     */
+    long onDrawStart() {
+        return mStats == null ? 0 : System.nanoTime();
+    }
+
+    void onDrawEnd(long startNanos) {
+        if (mStats == null || startNanos == 0) {
+            return;
+        }
+        long duration = System.nanoTime() - startNanos;
+        mStats.mFrameCount++;
+        mStats.mDrawTimeHistogram[WheelPerformanceStats.bucketOf(duration)]++;
+        mStats.mTotalDrawTimeNanos += duration;
+        if (duration > mStats.mMaxDrawTimeNanos) {
+            mStats.mMaxDrawTimeNanos = duration;
+        }
+    }
+
+    /**
+     * 滚轮停止滚动，回调本次手势的统计结果
+     */
+    void onSettled() {
+        if (mStats == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (mReleaseNanos != 0) {
+            mStats.mSettleLatencyNanos = now - mReleaseNanos;
+        }
+        deliver(now);
+    }
+
+    private void deliver(long now) {
+        WheelPerformanceStats stats = mStats;
+        mStats = null;
+        stats.mGestureDurationNanos = now - mGestureStartNanos;
+        if (mListener != null) {
+            mListener.onWheelPerformance(stats);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.sanousun.wheel;
+
+import android.view.Choreographer;
+
+import com.sanousun.wheel.core.WheelPhysics;
+
+/**
+ * 跟随屏幕刷新的滚动引擎，按照 {@link WheelPhysics} 的匀减速曲线滚动到目标位置
+ * 在到达目标的那一帧回调停止，中途可以随时取消，取消后不会有任何回调；也可以直接结束，跳到目标位置并回调停止
+ */
+
+final class WheelSettleScroller implements Choreographer.FrameCallback {
+
+    private final Callback mCallback;
+
+    private int mFrom;
+    private int mTo;
+    private long mStartNanos;
+    private long mDurationNanos;
+    private boolean mRunning;
+
+    WheelSettleScroller(Callback callback) {
+        mCallback = callback;
+    }
+
+    /**
+     * 从 from 滚动到 to，时长为 0 时直接在当前调用中回调停止
+     */
+    void start(int from, int to, long durationNanos) {
+        cancel();
+        if (from == to || durationNanos <= 0) {
+            mCallback.onScroll(to);
+            mCallback.onSettled();
+            return;
+        }
+        mFrom = from;
+        mTo = to;
+        mDurationNanos = durationNanos;
+        // 与 ValueAnimator 一致，以第一帧的帧时间作为起点，不依赖帧时间与 System.nanoTime 的时间基准
+        mStartNanos = -1;
+        mRunning = true;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    void cancel() {
+        if (mRunning) {
+            mRunning = false;
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+    }
+
+    /**
+     * 直接跳到目标位置并回调停止，没有在滚动时不做任何事
+     */
+    void finish() {
+        if (mRunning) {
+            cancel();
+            mCallback.onScroll(mTo);
+            mCallback.onSettled();
+        }
+    }
+
+    boolean isRunning() {
+        return mRunning;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!mRunning) {
+            return;
+        }
+        if (mStartNanos < 0) {
+            mStartNanos = frameTimeNanos;
+        }
+        long elapsed = frameTimeNanos - mStartNanos;
+        if (elapsed >= mDurationNanos) {
+            mRunning = false;
+            mCallback.onScroll(mTo);
+            mCallback.onSettled();
+            return;
+        }
+        float fraction = elapsed <= 0 ? 0 : (float) elapsed / mDurationNanos;
+        mCallback.onScroll(mFrom + Math.round((mTo - mFrom) * WheelPhysics.getOffsetFraction(fraction)));
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    interface Callback {
+        /**
+         * 每一帧的位置
+         */
+        void onScroll(int offset);
+
+        /**
+         * 到达目标位置
+         */
+        void onSettled();
+    }
+}
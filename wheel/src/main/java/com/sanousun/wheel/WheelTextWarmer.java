@@ -0,0 +1,161 @@
+package com.sanousun.wheel;
+
+import android.graphics.Paint;
+
+import com.sanousun.wheel.core.WheelMath;
+
+import java.util.Arrays;
+
+/**
+ * 在后台线程提前排版可见区域附近的文字
+ * 文字排版的结果由系统按文字和画笔缓存在进程内，后台线程测量过的文字在主线程绘制时可以直接复用，
+ * 泰文、阿拉伯文等复杂文字不需要在 fling 的过程中同步排版
+ * 文字在主线程从数据源取出，后台线程只做测量；由滚动触发，不在绘制过程中执行
+ * 共享的后台线程上最多只有一个排版任务，任务还没有取走的批次直接被新的下标范围替换，
+ * 正在测量的批次在下标继续改变后放弃，两个批次的数组交替复用，稳定后不再分配对象
+ */
+
+final class WheelTextWarmer {
+
+    /**
+     * 画笔的副本，只在后台线程使用，共享的后台线程是单线程的，不需要同步
+     */
+    private final Paint mInnerPaint;
+    private final Paint mOuterPaint;
+
+    private int mPrefetchCount;
+    private WheelAdapter mAdapter;
+    /**
+     * 上一次的选中下标，没有改变时不需要重新计算范围
+     */
+    private int mIndex = -1;
+    /**
+     * 已经提交排版的下标范围，包含两端，循环模式下是取模之前的下标
+     */
+    private int mWarmedFrom;
+    private int mWarmedTo = -1;
+    /**
+     * 等待中的批次被替换时，新的批次相对于这个范围取差集，被替换的批次中的文字不会遗漏
+     */
+    private int mBaseFrom;
+    private int mBaseTo = -1;
+
+    private final Object mLock = new Object();
+    /**
+     * 主线程写入的批次，由 mLock 保护
+     */
+    private String[] mPendingTexts = new String[0];
+    private int mPendingCount;
+    /**
+     * 是否已经向后台线程提交了任务，由 mLock 保护
+     */
+    private boolean mScheduled;
+    /**
+     * 后台线程正在测量的批次，只在后台线程使用
+     */
+    private String[] mWorkingTexts = new String[0];
+    /**
+     * 批次的序号，后台线程读取，序号不一致说明已经过期
+     */
+    private volatile int mGeneration;
+
+    private final Runnable mWarmTask = new Runnable() {
+        @Override
+        public void run() {
+            while (true) {
+                int count;
+                int generation;
+                synchronized (mLock) {
+                    if (mPendingCount == 0) {
+                        mScheduled = false;
+                        return;
+                    }
+                    String[] texts = mWorkingTexts;
+                    mWorkingTexts = mPendingTexts;
+                    mPendingTexts = texts;
+                    count = mPendingCount;
+                    mPendingCount = 0;
+                    generation = mGeneration;
+                }
+                for (int i = 0; i < count && generation == mGeneration; i++) {
+                    mInnerPaint.measureText(mWorkingTexts[i]);
+                    mOuterPaint.measureText(mWorkingTexts[i]);
+                }
+                Arrays.fill(mWorkingTexts, 0, count, null);
+            }
+        }
+    };
+
+    WheelTextWarmer(Paint innerTxtPaint, Paint outerTxtPaint) {
+        mInnerPaint = new Paint(innerTxtPaint);
+        mOuterPaint = new Paint(outerTxtPaint);
+    }
+
+    /**
+     * @param prefetchCount 可见区域上下各提前排版的数量，0 表示关闭
+     */
+    void setPrefetchCount(int prefetchCount) {
+        mPrefetchCount = prefetchCount;
+        reset();
+    }
+
+    void setAdapter(WheelAdapter adapter) {
+        mAdapter = adapter;
+        reset();
+    }
+
+    /**
+     * 选中的下标改变，提交新进入范围的文字
+     */
+    void onIndexChanged(int index, int visibleItemCount, boolean cyclic) {
+        if (mPrefetchCount <= 0 || mAdapter == null || mAdapter.getCount() == 0 || index == mIndex) {
+            return;
+        }
+        mIndex = index;
+        int count = mAdapter.getCount();
+        int from = index - visibleItemCount / 2 - mPrefetchCount;
+        int to = index + visibleItemCount / 2 + mPrefetchCount;
+        if (!cyclic) {
+            from = Math.max(0, from);
+            to = Math.min(to, count - 1);
+        } else if (to - from + 1 > count) {
+            to = from + count - 1;
+        }
+        synchronized (mLock) {
+            if (mPendingCount == 0) {
+                mBaseFrom = mWarmedFrom;
+                mBaseTo = mWarmedTo;
+            }
+            // 还没有取走的批次已经过期，直接覆盖
+            mPendingCount = 0;
+            if (mPendingTexts.length < to - from + 1) {
+                mPendingTexts = new String[to - from + 1];
+            }
+            for (int i = from; i <= to; i++) {
+                if (i >= mBaseFrom && i <= mBaseTo) {
+                    continue;
+                }
+                mPendingTexts[mPendingCount++] = mAdapter.getText(cyclic ? WheelMath.floorMod(i, count) : i);
+            }
+            Arrays.fill(mPendingTexts, mPendingCount, mPendingTexts.length, null);
+            mWarmedFrom = from;
+            mWarmedTo = to;
+            mGeneration++;
+            if (mPendingCount > 0 && !mScheduled) {
+                mScheduled = true;
+                WheelExecutors.background().execute(mWarmTask);
+            }
+        }
+    }
+
+    private void reset() {
+        synchronized (mLock) {
+            mGeneration++;
+            mPendingCount = 0;
+            Arrays.fill(mPendingTexts, null);
+        }
+        mIndex = -1;
+        mWarmedFrom = 0;
+        mWarmedTo = -1;
+    }
+}
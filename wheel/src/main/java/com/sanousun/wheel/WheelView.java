@@ -1,19 +1,22 @@
 package com.sanousun.wheel;
 
-import android.animation.ValueAnimator;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.util.AttributeSet;
 import android.util.Log;
+import android.view.Display;
 import android.view.GestureDetector;
 import android.view.MotionEvent;
 import android.view.View;
-import android.view.animation.DecelerateInterpolator;
 
-import java.util.ArrayList;
+import com.sanousun.wheel.core.WheelGeometry;
+import com.sanousun.wheel.core.WheelMath;
+import com.sanousun.wheel.core.WheelPhysics;
+
 import java.util.List;
 
 /**
@@ -24,12 +27,57 @@ import java.util.List;
 
 public class WheelView extends View {
 
-    private static final int ANIMATOR_DURING = 300;
+    private static final String TAG = WheelView.class.getSimpleName();
+
+    /**
+     * 绘制过程中的调试日志开关
+     */
+    private static final boolean DEBUG = false;
+
+    /**
+     * 每一帧直接绘制文字
+     */
+    public static final int RENDER_MODE_TEXT = WheelItemRenderer.MODE_TEXT;
+    /**
+     * 将文字预先栅格化成位图缓存起来，滚动时只绘制位图
+     */
+    public static final int RENDER_MODE_BITMAP = WheelItemRenderer.MODE_BITMAP;
+    /**
+     * 将文字录制成显示列表缓存起来，滚动时直接回放，不支持的平台上直接绘制文字
+     */
+    public static final int RENDER_MODE_DISPLAY_LIST = WheelItemRenderer.MODE_DISPLAY_LIST;
+
+    /**
+     * 平面投影，item 只在竖直方向上压缩
+     */
+    public static final int PROJECTION_FLAT = 0;
+    /**
+     * 立体投影，item 绕 X 轴旋转并带有透视
+     */
+    public static final int PROJECTION_CYLINDER = 1;
+
+    /**
+     * 超出宽度的文字不做处理
+     */
+    public static final int TEXT_FIT_NONE = WheelItemRenderer.FIT_NONE;
+    /**
+     * 缩小超出宽度的文字，缩小到一定比例仍然放不下时截断
+     */
+    public static final int TEXT_FIT_SHRINK = WheelItemRenderer.FIT_SHRINK;
+    /**
+     * 超出宽度的文字在末尾截断为省略号
+     */
+    public static final int TEXT_FIT_ELLIPSIZE = WheelItemRenderer.FIT_ELLIPSIZE;
+
+    /**
+     * 滚动的减速度，dp/s²
+     */
+    private static final float DECELERATION_DP = 5000f;
 
     /**
      * 转盘的数据
      */
-    private List<WheelBean> mData = new ArrayList<>();
+    private WheelAdapter mAdapter;
     /**
      * 转盘的监听器
      */
@@ -47,6 +95,34 @@ public class WheelView extends View {
      * 分割线画笔
      */
     private Paint mLinePaint;
+    /**
+     * 分割线内文字基线相对 item 中心的偏移，画笔改变时更新
+     */
+    private int mInnerBaselineOffset;
+    /**
+     * 分割线外文字基线相对 item 中心的偏移，画笔改变时更新
+     */
+    private int mOuterBaselineOffset;
+    /**
+     * 小于该高度的 item 不绘制，初始化时由 1dp 换算
+     */
+    private int mMinVisibleItemHeight;
+    /**
+     * item 的绘制，负责文字位图的缓存
+     */
+    private WheelItemRenderer mItemRenderer;
+    /**
+     * 在后台线程提前排版可见区域附近的文字
+     */
+    private WheelTextWarmer mTextWarmer;
+    /**
+     * 异步设置数据时在后台线程准备数据
+     */
+    private final WheelDataLoader mDataLoader = new WheelDataLoader();
+    /**
+     * 性能统计，没有设置监听器时不计时
+     */
+    private final WheelPerformanceTracker mPerformanceTracker = new WheelPerformanceTracker();
 
     private double mRadius;
 
@@ -62,6 +138,22 @@ public class WheelView extends View {
      * item的对应角度，180/mVisibleItemCount
      */
     private double mItemAngle;
+    /**
+     * 投影的几何缓存，在 onMeasure 中构建
+     */
+    private final WheelGeometry mGeometry = new WheelGeometry();
+    /**
+     * 当前槽位的缩放矩阵，绘制时复用
+     */
+    private final Matrix mSlotMatrix = new Matrix();
+    /**
+     * 投影方式
+     */
+    private int mProjection;
+    /**
+     * 立体投影的变换缓存，只在立体投影时构建
+     */
+    private WheelCameraProjection mCameraProjection;
 
     /**
      * 第一条分隔线高度
@@ -73,16 +165,38 @@ public class WheelView extends View {
     private float mBottomSepLineHeight;
 
     /**
-     * 当前的偏移量，0..mItemHeight*(mData.size()-1)
+     * 当前的偏移量，0..mItemHeight*(getItemCount()-1)，循环模式下不限制范围
      */
     private int mCurrentOffset;
     /**
-     * 当期的下标，0..mData.size()-1
+     * 当期的下标，0..getItemCount()-1
      */
     private int mCurrentIndex;
+    /**
+     * 是否循环滚动，循环时下标对数据数量取模，偏移量不再限制范围
+     */
+    private boolean mCyclic;
+
+    /**
+     * 滚动的减速度，px/s²
+     */
+    private float mDeceleration;
+    private final WheelSettleScroller mSettleScroller = new WheelSettleScroller(
+            new WheelSettleScroller.Callback() {
+                @Override
+                public void onScroll(int offset) {
+                    if (mCurrentOffset != offset) {
+                        mCurrentOffset = offset;
+                        warmTexts();
+                        invalidate();
+                    }
+                }
 
-    private boolean isAutoScroll;
-    private ValueAnimator mValueAnimator;
+                @Override
+                public void onSettled() {
+                    onScrollSettled();
+                }
+            });
 
     private GestureDetector mGestureDetector;
 
@@ -112,6 +226,9 @@ public class WheelView extends View {
         int outerTxtColor = ta.getColor(R.styleable.WheelView_wheel_outer_text_color, Color.parseColor("#AFAFAF"));
         int sepColor = ta.getColor(R.styleable.WheelView_wheel_sep_line_color, Color.parseColor("#E7E7E7"));
         int sepWidth = ta.getDimensionPixelSize(R.styleable.WheelView_wheel_sep_line_width, 1);
+        mCyclic = ta.getBoolean(R.styleable.WheelView_wheel_cyclic, false);
+        int projection = ta.getInt(R.styleable.WheelView_wheel_projection, PROJECTION_FLAT);
+        int textFit = ta.getInt(R.styleable.WheelView_wheel_text_fit, TEXT_FIT_NONE);
         ta.recycle();
 
         mInnerTxtPaint.setAntiAlias(true);
@@ -127,13 +244,21 @@ public class WheelView extends View {
         mLinePaint.setColor(sepColor);
         mLinePaint.setStrokeWidth(sepWidth);
 
+        mMinVisibleItemHeight = dp2px(1);
+        setProjection(projection);
+        mDeceleration = DECELERATION_DP * getResources().getDisplayMetrics().density;
+        updateTextBaseline();
+        mItemRenderer = new WheelItemRenderer(this, mInnerTxtPaint, mOuterTxtPaint);
+        mItemRenderer.setFitMode(textFit);
+        mTextWarmer = new WheelTextWarmer(mInnerTxtPaint, mOuterTxtPaint);
+
         mGestureDetector = new GestureDetector(context, new GestureDetector.SimpleOnGestureListener() {
 
             @Override
             public boolean onDown(MotionEvent e) {
-                if (isAutoScroll && mValueAnimator != null) {
-                    mValueAnimator.cancel();
-                }
+                // 新的触摸会取消正在进行的滚动，不会再有停止的回调
+                mSettleScroller.cancel();
+                mPerformanceTracker.onGestureStart(getRefreshRate());
                 return super.onDown(e);
             }
 
@@ -145,7 +270,9 @@ public class WheelView extends View {
                 }
                 double touchAngle = Math.acos((mRadius - touchY) / mRadius);
                 int scrollY = (int) ((touchAngle - Math.PI / 2) * mRadius);
-                Log.i("xyz", "scrollY:" + scrollY);
+                if (DEBUG) {
+                    Log.i(TAG, "scrollY:" + scrollY);
+                }
                 if (Math.abs(scrollY) < mItemHeight / 2) {
                     return true;
                 }
@@ -154,21 +281,26 @@ public class WheelView extends View {
                 } else {
                     scrollY += mItemHeight / 2;
                 }
-                Log.i("xyz", "itemHeight:" + mItemHeight + "; scrollY:" + scrollY);
-                autoFling(scrollY);
+                if (DEBUG) {
+                    Log.i(TAG, "itemHeight:" + mItemHeight + "; scrollY:" + scrollY);
+                }
+                autoFling(scrollY, 0);
                 return true;
             }
 
             @Override
             public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
                 mCurrentOffset += distanceY;
+                warmTexts();
                 invalidate();
                 return true;
             }
 
             @Override
             public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
-                autoFling((int) (-velocityY / 10));
+                mPerformanceTracker.onRelease(true);
+                float velocity = -velocityY;
+                autoFling(WheelPhysics.getFlingDistance(velocity, mDeceleration), velocity);
                 return true;
             }
         });
@@ -180,9 +312,38 @@ public class WheelView extends View {
      * 设置数据源
      */
     public void setData(List<WheelBean> data) {
-        mData = data;
+        setAdapter(data == null ? null : new ListWheelAdapter(data));
+    }
+
+    /**
+     * 异步设置数据源，在后台线程调用 {@link WheelBean#getShowText()} 解析所有的文字并测量宽度，
+     * 完成后在主线程一次性替换数据；完成前再次设置数据会使本次请求失效
+     */
+    public void setDataAsync(List<WheelBean> data) {
+        if (data == null) {
+            setData(null);
+            return;
+        }
+        mDataLoader.load(data, mInnerTxtPaint, mOuterTxtPaint, new WheelDataLoader.Callback() {
+            @Override
+            public void onPrepared(PreparedWheelAdapter adapter) {
+                setAdapter(adapter);
+            }
+        });
+    }
+
+    /**
+     * 设置数据源，只会查询可见范围内的数据
+     */
+    public void setAdapter(WheelAdapter adapter) {
+        mDataLoader.cancel();
+        mSettleScroller.cancel();
+        mAdapter = adapter;
+        mItemRenderer.setAdapter(adapter);
+        mTextWarmer.setAdapter(adapter);
         mCurrentIndex = 0;
         mCurrentOffset = 0;
+        mTextWarmer.onIndexChanged(mCurrentIndex, mVisibleItemCount, mCyclic);
         notifyIndexChange();
         invalidate();
     }
@@ -191,12 +352,86 @@ public class WheelView extends View {
      * 获取当前选中的数据
      */
     public WheelBean getCurrentData() {
-        if (mData != null && mData.size() != 0) {
-            return mData.get(mCurrentIndex);
+        if (getItemCount() != 0) {
+            return getItem(mCurrentIndex);
         }
         return null;
     }
 
+    /**
+     * 获取当前选中的下标
+     */
+    public int getCurrentIndex() {
+        return mCurrentIndex;
+    }
+
+    public WheelAdapter getAdapter() {
+        return mAdapter;
+    }
+
+    /**
+     * 设置是否循环滚动，滚动超过最后一个 item 后回到第一个
+     */
+    public void setCyclic(boolean cyclic) {
+        if (mCyclic == cyclic) {
+            return;
+        }
+        mCyclic = cyclic;
+        mCurrentOffset = mCurrentIndex * mItemHeight;
+        invalidate();
+    }
+
+    public boolean isCyclic() {
+        return mCyclic;
+    }
+
+    /**
+     * 设置投影方式
+     *
+     * @param projection {@link #PROJECTION_FLAT} 或者 {@link #PROJECTION_CYLINDER}
+     */
+    public void setProjection(int projection) {
+        mProjection = projection;
+        if (projection == PROJECTION_CYLINDER && mCameraProjection == null) {
+            mCameraProjection = new WheelCameraProjection();
+        }
+        invalidate();
+    }
+
+    public int getProjection() {
+        return mProjection;
+    }
+
+    /**
+     * 设置超出宽度的文字的处理方式，每个 item 只在第一次绘制时测量，结果会缓存到宽度或者数据改变
+     *
+     * @param textFit {@link #TEXT_FIT_NONE}、{@link #TEXT_FIT_SHRINK} 或者 {@link #TEXT_FIT_ELLIPSIZE}
+     */
+    public void setTextFit(int textFit) {
+        mItemRenderer.setFitMode(textFit);
+        invalidate();
+    }
+
+    /**
+     * 在后台线程提前排版可见区域上下各 count 个 item 的文字，滚动时主线程绘制的文字已经排版完成
+     *
+     * @param count 提前排版的数量，0 表示关闭
+     */
+    public void setTextPrefetchCount(int count) {
+        mTextWarmer.setPrefetchCount(count);
+        mTextWarmer.onIndexChanged(mCurrentIndex, mVisibleItemCount, mCyclic);
+    }
+
+    /**
+     * 设置 item 的绘制方式
+     *
+     * @param renderMode {@link #RENDER_MODE_TEXT}、{@link #RENDER_MODE_BITMAP} 或者 {@link #RENDER_MODE_DISPLAY_LIST}
+     */
+    public void setRenderMode(int renderMode) {
+        mItemRenderer.setMode(renderMode);
+        invalidate();
+    }
+
     /**
      * 设置监听器
      */
@@ -204,11 +439,38 @@ public class WheelView extends View {
         mOnWheelChangeListener = onWheelChangeListener;
     }
 
+    /**
+     * 设置性能统计的监听器，每次滚动手势结束时回调汇总数据，传入 null 关闭统计
+     */
+    public void setOnWheelPerformanceListener(OnWheelPerformanceListener listener) {
+        mPerformanceTracker.setListener(listener);
+    }
+
     private void notifyIndexChange() {
         if (mOnWheelChangeListener != null
-                && mData != null && mData.size() > 0) {
-            mOnWheelChangeListener.onWheelChange(mCurrentIndex, mData.get(mCurrentIndex));
+                && getItemCount() > 0) {
+            mOnWheelChangeListener.onWheelChange(mCurrentIndex, getItem(mCurrentIndex));
+        }
+    }
+
+    private int getItemCount() {
+        return mAdapter == null ? 0 : mAdapter.getCount();
+    }
+
+    /**
+     * 列表数据源直接返回对应的数据，其他数据源只为选中的数据包装一个对象
+     */
+    private WheelBean getItem(int index) {
+        if (mAdapter instanceof ListWheelAdapter) {
+            return ((ListWheelAdapter) mAdapter).getItem(index);
         }
+        final String text = mAdapter.getText(index);
+        return new WheelBean() {
+            @Override
+            public String getShowText() {
+                return text;
+            }
+        };
     }
 
     @Override
@@ -218,33 +480,45 @@ public class WheelView extends View {
         int height;
         double diameter;
         //获取item高度对应的角度
-        mItemAngle = Math.PI / mVisibleItemCount;
+        mItemAngle = WheelGeometry.getItemAngle(mVisibleItemCount);
         //高度已知，通过高度获取mItemHeight
         if (heightMode == MeasureSpec.EXACTLY) {
             height = heightSize;
             diameter = height - getPaddingTop() - getPaddingBottom();
-            mItemHeight = (int) (diameter / 2 * Math.sin(mItemAngle / 2) * 2);
+            mItemHeight = WheelGeometry.getItemHeight(diameter, mItemAngle);
         }
         //高度未知，通过mItemHeight推导高度
         else {
             //获取滚轮的直径
-            diameter = mItemHeight / 2 / Math.sin(mItemAngle / 2) * 2;
+            diameter = WheelGeometry.getDiameter(mItemHeight, mItemAngle);
             height = (int) (getPaddingTop() + getPaddingBottom() + diameter);
         }
         mRadius = diameter / 2;
         //在这里不需要考虑paddingTop，绘制时会将画布整体移动
         mTopSepLineHeight = (float) (diameter / 2 - mItemHeight / 2);
         mBottomSepLineHeight = (float) (diameter / 2 + mItemHeight / 2);
+        mGeometry.build(mRadius, mItemAngle, mItemHeight, mVisibleItemCount);
+        mItemRenderer.setItemHeight(mItemHeight);
         super.onMeasure(widthMeasureSpec, MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY));
+        mItemRenderer.setAvailableWidth(getMeasuredWidth() - getPaddingLeft() - getPaddingRight());
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
+        long drawStart = mPerformanceTracker.onDrawStart();
+        mPerformanceTracker.onFrame();
+        drawWheel(canvas);
+        mPerformanceTracker.onDrawEnd(drawStart);
+    }
+
+    private void drawWheel(Canvas canvas) {
         int top = getPaddingTop();
         int left = getPaddingLeft();
         int right = getMeasuredWidth() - getPaddingRight();
         int bottom = getMeasuredHeight() - getPaddingBottom();
 
+        //绘制过程中画布的状态在结束时统一恢复
+        int saveCount = canvas.save();
         //移除paddingTop的影响
         canvas.translate(0, top);
 
@@ -253,101 +527,115 @@ public class WheelView extends View {
         //画出第二条线
         canvas.drawLine(left, mBottomSepLineHeight, right, mBottomSepLineHeight, mLinePaint);
 
-        if (mData == null || mData.size() == 0) {
+        if (getItemCount() == 0) {
             mCurrentIndex = 0;
             mCurrentOffset = 0;
+            canvas.restoreToCount(saveCount);
             return;
         }
-        if (mCurrentOffset < 0) {
-            mCurrentOffset = 0;
-        } else if (mCurrentOffset > (mData.size() - 1) * mItemHeight) {
-            mCurrentOffset = (mData.size() - 1) * mItemHeight;
-        }
+        // 循环模式不限制偏移量
+        mCurrentOffset = WheelMath.clampOffset(mCurrentOffset, mItemHeight, getItemCount(), mCyclic);
         //计算相对于item的偏移量
-        int itemOffset = mCurrentOffset % mItemHeight;
+        int itemOffset = WheelMath.floorMod(mCurrentOffset, mItemHeight);
         //计算偏移后的index
-        int curIndex = mCurrentOffset / mItemHeight;
+        int curIndex = getIndexForOffset(mCurrentOffset);
         //偏移后的index改变时通知监听器
         if (mCurrentIndex != curIndex) {
             mCurrentIndex = curIndex;
         }
 
+        boolean cylinder = mProjection == PROJECTION_CYLINDER;
+        if (cylinder) {
+            mCameraProjection.build(mRadius, mItemAngle, mItemHeight, mVisibleItemCount, getMeasuredWidth() / 2);
+        }
         // 开始绘制，可见 item 为奇数，需要绘制 +1 个才能保证上下可见
         for (int i = 0; i <= mVisibleItemCount; i++) {
-            canvas.save();
-            double offsetAngle = -(mItemAngle * (itemOffset * 1.0 / mItemHeight));
-            // 计算顶部的角度
-            double angle0 = i * mItemAngle + offsetAngle;
-            if (angle0 < 0) {
-                angle0 = 0;
+            // 从几何缓存中取出该 item 的实际高度、缩放值以及缩放前的位置
+            float itemHeight = mGeometry.getSlotHeight(itemOffset, i);
+            float scaleY = mGeometry.getScaleY(itemOffset, i);
+            int itemLocationY = mGeometry.getLocationY(itemOffset, i);
+            if (DEBUG) {
+                Log.i(TAG, "slot: " + i + ", itemHeight: " + itemHeight
+                        + ", scaleY: " + scaleY + ", itemLocationY: " + itemLocationY);
             }
-            Log.i("angle0", "angle0: " + angle0);
-            // 计算底部的角度
-            double angle1 = (i + 1) * mItemAngle + offsetAngle;
-            if (angle1 > Math.PI) {
-                angle1 = Math.PI;
-            }
-            Log.i("angle1", "angle1: " + angle1);
-            // 计算出该 item 的实际高度
-            float itemHeight = (float) ((Math.cos(angle0) - Math.cos(angle1)) * mRadius);
-            // 计算出一个缩放值
-            float scaleY = itemHeight / mItemHeight;
-            // 这里的高度是折叠前的
-            int itemY = (int) ((1 - Math.cos(angle0)) * mRadius + itemHeight / 2);
-            Log.i("itemY", "itemY: " + (itemY - mRadius));
-            int itemLocationY = (int) (itemY / scaleY);
-            Log.i("itemLocationY", "itemLocationY: " + itemLocationY);
-            if (itemHeight < dp2px(1)) {
+            if (itemHeight < mMinVisibleItemHeight || getItemPosition(i) < 0) {
                 continue;
             }
-            //需要靠画布的折叠来实现效果
-            canvas.save();
+            //需要靠画布的折叠来实现效果，跨过分隔线的 item 分成两部分各自裁剪
+            //立体投影的矩阵已经包含了位置，item 以 0 为中心绘制
+            if (cylinder) {
+                mCameraProjection.getMatrix(itemOffset, i, mSlotMatrix);
+                itemLocationY = 0;
+            } else {
+                mSlotMatrix.setScale(1.0f, scaleY);
+            }
             if (i == mVisibleItemCount / 2) {
-                canvas.clipRect(left, 0, right, mTopSepLineHeight);
-                canvas.scale(1.0f, scaleY);
-                drawText(canvas, getText(i), mOuterTxtPaint, itemLocationY);
-                canvas.restore();
-                canvas.clipRect(left, mTopSepLineHeight, right, bottom);
-                canvas.scale(1.0f, scaleY);
-                drawText(canvas, getText(i), mInnerTxtPaint, itemLocationY);
+                drawSlot(canvas, i, mOuterTxtPaint, mOuterBaselineOffset, itemLocationY, 0, mTopSepLineHeight);
+                drawSlot(canvas, i, mInnerTxtPaint, mInnerBaselineOffset, itemLocationY, mTopSepLineHeight, bottom);
             } else if (i == mVisibleItemCount / 2 + 1) {
-                canvas.clipRect(left, 0, right, mBottomSepLineHeight);
-                canvas.scale(1.0f, scaleY);
-                drawText(canvas, getText(i), mInnerTxtPaint, itemLocationY);
-                canvas.restore();
-                canvas.clipRect(left, mBottomSepLineHeight, right, bottom);
-                canvas.scale(1.0f, scaleY);
-                drawText(canvas, getText(i), mOuterTxtPaint, itemLocationY);
+                drawSlot(canvas, i, mInnerTxtPaint, mInnerBaselineOffset, itemLocationY, 0, mBottomSepLineHeight);
+                drawSlot(canvas, i, mOuterTxtPaint, mOuterBaselineOffset, itemLocationY, mBottomSepLineHeight, bottom);
             } else {
-                canvas.scale(1.0f, scaleY);
-                drawText(canvas, getText(i), mOuterTxtPaint, itemLocationY);
+                drawSlot(canvas, i, mOuterTxtPaint, mOuterBaselineOffset, itemLocationY, 0, 0);
             }
-            canvas.restore();
         }
+        canvas.restoreToCount(saveCount);
     }
 
     /**
-     * 获取对应位置上的文字
+     * 绘制一个槽位，画布只保存一层状态，最多裁剪一次后应用槽位的缩放矩阵
+     *
+     * @param clipTop    裁剪区域的顶部，与 clipBottom 相同时不裁剪
+     * @param clipBottom 裁剪区域的底部
      */
-    private String getText(int pos) {
-        int itemPos = pos + mCurrentIndex - mVisibleItemCount / 2;
-        if (itemPos < 0 || itemPos > mData.size() - 1) {
-            return "";
+    private void drawSlot(Canvas canvas, int pos, Paint paint, int baselineOffset, int height,
+                          float clipTop, float clipBottom) {
+        int saveCount = canvas.save();
+        if (clipTop != clipBottom) {
+            canvas.clipRect(getPaddingLeft(), clipTop, getMeasuredWidth() - getPaddingRight(), clipBottom);
         }
-        return mData.get(itemPos).getShowText();
+        canvas.concat(mSlotMatrix);
+        drawText(canvas, pos, paint, baselineOffset, height);
+        canvas.restoreToCount(saveCount);
+    }
+
+    /**
+     * 获取对应位置上的数据下标，超出数据范围时返回 -1，循环模式下对数据数量取模
+     */
+    private int getItemPosition(int pos) {
+        return WheelMath.getItemPosition(pos, mCurrentIndex, mVisibleItemCount, getItemCount(), mCyclic);
     }
 
     /**
      * 将文字居中绘制的方法
      */
-    private void drawText(Canvas canvas, String str, Paint paint, int height) {
+    private void drawText(Canvas canvas, int pos, Paint paint, int baselineOffset, int height) {
+        int itemPos = getItemPosition(pos);
+        if (itemPos < 0) {
+            return;
+        }
+        mItemRenderer.drawItem(canvas, itemPos, paint, baselineOffset, getMeasuredWidth() / 2, height);
+    }
+
+    /**
+     * 画笔改变后更新文字基线的偏移，避免在绘制时获取 FontMetricsInt
+     */
+    private void updateTextBaseline() {
+        mInnerBaselineOffset = getBaselineOffset(mInnerTxtPaint);
+        mOuterBaselineOffset = getBaselineOffset(mOuterTxtPaint);
+    }
+
+    private static int getBaselineOffset(Paint paint) {
         Paint.FontMetricsInt fm = paint.getFontMetricsInt();
-        int baseline = height + (fm.descent - fm.ascent) / 2 - fm.descent;
-        canvas.drawText(str, getMeasuredWidth() / 2, baseline, paint);
+        return (fm.descent - fm.ascent) / 2 - fm.descent;
     }
 
     @Override
     public boolean onTouchEvent(MotionEvent event) {
+        if (event.getAction() == MotionEvent.ACTION_UP ||
+                event.getAction() == MotionEvent.ACTION_CANCEL) {
+            mPerformanceTracker.onRelease(false);
+        }
         if (mGestureDetector.onTouchEvent(event)) {
             return true;
         }
@@ -363,79 +651,74 @@ public class WheelView extends View {
         return (int) (dpValue * scale + 0.5f);
     }
 
+    private float getRefreshRate() {
+        Display display = getDisplay();
+        return display != null ? display.getRefreshRate() : 0;
+    }
+
     /**
      * 当划到一半时，会自动划到合适的位置
      */
     private void autoSelect() {
-        int itemOffset = mCurrentOffset % mItemHeight;
         //偏移量未达到 item 高度一半，回弹
-        int from = mCurrentOffset;
-        int to;
-        if (itemOffset < mItemHeight / 2) {
-            to = mCurrentOffset - itemOffset;
-        } else {
-            to = mCurrentOffset - itemOffset + mItemHeight;
-        }
-        if (to < 0) {
-            to = 0;
-        } else if (to > mItemHeight * (mData.size() - 1)) {
-            to = mItemHeight * (mData.size() - 1);
-        }
-        animator(from, to);
+        animator(mCurrentOffset, WheelMath.getSnapOffset(mCurrentOffset, mItemHeight, getItemCount(), mCyclic), 0);
     }
 
     /**
-     * 快速划动的情况
+     * 快速划动的情况，按减速模型预测停止的位置，再对齐到最近的 item
      */
-    private void autoFling(int scrollBy) {
-        int after = mCurrentOffset + scrollBy;
-        int itemOffset = after % mItemHeight;
-        int from = mCurrentOffset;
-        int to;
-        if (itemOffset < mItemHeight / 2) {
-            to = after - itemOffset;
-        } else {
-            to = after - itemOffset + mItemHeight;
-        }
-        if (to < 0) {
-            to = 0;
-        } else if (to > mItemHeight * (mData.size() - 1)) {
-            to = mItemHeight * (mData.size() - 1);
-        }
-        animator(from, to);
+    private void autoFling(int scrollBy, float velocity) {
+        int to = WheelMath.getSnapOffset(mCurrentOffset + scrollBy, mItemHeight, getItemCount(), mCyclic);
+        animator(mCurrentOffset, to, velocity);
     }
 
-    private void animator(int from, int to) {
-        if (from == to) {
-            notifyIndexChange();
-            return;
+    /**
+     * 循环模式下滚动停止后将偏移量收敛到一圈以内，避免一直滚动导致溢出
+     */
+    private void normalizeCyclicOffset() {
+        mCurrentOffset = WheelMath.normalizeOffset(mCurrentOffset, mItemHeight, getItemCount(), mCyclic);
+    }
+
+    private void animator(int from, int to, float velocity) {
+        mSettleScroller.start(from, to, WheelPhysics.getDurationNanos(to - from, velocity, mDeceleration));
+    }
+
+    /**
+     * 滚动到达目标位置的那一帧回调，通知监听器选中的数据
+     */
+    private void onScrollSettled() {
+        normalizeCyclicOffset();
+        if (getItemCount() > 0) {
+            mCurrentIndex = getIndexForOffset(mCurrentOffset);
         }
-        if (mValueAnimator == null) {
-            mValueAnimator = ValueAnimator.ofInt(from, to);
-            mValueAnimator.setDuration(ANIMATOR_DURING);
-            mValueAnimator.setInterpolator(new DecelerateInterpolator());
-            mValueAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-                @Override
-                public void onAnimationUpdate(ValueAnimator valueAnimator) {
-                    int offset = (int) valueAnimator.getAnimatedValue();
-                    if (mCurrentOffset != offset) {
-                        mCurrentOffset = offset;
-                        invalidate();
-                    }
-                }
-            });
-        } else {
-            mValueAnimator.setIntValues(from, to);
+        notifyIndexChange();
+        mPerformanceTracker.onSettled();
+    }
+
+    /**
+     * 偏移量改变后提前排版新进入范围的文字，在滚动时触发，不占用绘制的时间
+     */
+    private void warmTexts() {
+        if (getItemCount() > 0 && mItemHeight > 0) {
+            mTextWarmer.onIndexChanged(getIndexForOffset(mCurrentOffset), mVisibleItemCount, mCyclic);
         }
-        isAutoScroll = true;
-        mValueAnimator.start();
-        postDelayed(new Runnable() {
-            @Override
-            public void run() {
-                isAutoScroll = false;
-                notifyIndexChange();
-            }
-        }, ANIMATOR_DURING + 60);
+    }
+
+    /**
+     * 偏移量对应的下标，循环模式下对数据数量取模
+     */
+    private int getIndexForOffset(int offset) {
+        return WheelMath.getIndexForOffset(offset, mItemHeight, getItemCount(), mCyclic);
+    }
+
+    /**
+     * 离开窗口后不再有帧回调，正在进行的滚动直接停在目标 item 上
+     * 异步数据不取消，离开窗口期间准备好的数据照常设置，重新添加到窗口后显示的是最新的数据
+     */
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        mSettleScroller.finish();
     }
 
     public interface OnWheelChangeListener {
@@ -0,0 +1,95 @@
+package com.sanousun.wheel;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * NumericWheelAdapter 格式化到字符数组的文字：补 0、前后缀、负数与步长，以及很大的范围
+ */
+
+public class NumericWheelAdapterTest {
+
+    @Test
+    public void padsToMinDigits() {
+        NumericWheelAdapter adapter = new NumericWheelAdapter(0, 59, 1, 2, null, " min");
+        assertEquals(60, adapter.getCount());
+        assertEquals("08 min", getText(adapter, 8));
+        assertEquals("59 min", getText(adapter, 59));
+    }
+
+    @Test
+    public void longerNumbersAreNotTruncated() {
+        NumericWheelAdapter adapter = new NumericWheelAdapter(98, 102, 1, 2, null, null);
+        assertEquals("98", getText(adapter, 0));
+        assertEquals("102", getText(adapter, 4));
+    }
+
+    @Test
+    public void writesPrefixAndSuffix() {
+        NumericWheelAdapter adapter = new NumericWheelAdapter(2020, 2030, 1, 0, "公元", "年");
+        assertEquals("公元2024年", getText(adapter, 4));
+    }
+
+    @Test
+    public void writesNegativeNumbers() {
+        NumericWheelAdapter adapter = new NumericWheelAdapter(-10, 10, 1, 2, "[", "]");
+        assertEquals("[-10]", getText(adapter, 0));
+        assertEquals("[-05]", getText(adapter, 5));
+        assertEquals("[00]", getText(adapter, 10));
+        assertEquals("[10]", getText(adapter, 20));
+    }
+
+    @Test
+    public void writesExtremeValues() {
+        NumericWheelAdapter adapter = new NumericWheelAdapter(
+                Integer.MIN_VALUE, Integer.MIN_VALUE + 1, 1, 0, null, null);
+        assertEquals(String.valueOf(Integer.MIN_VALUE), getText(adapter, 0));
+        adapter = new NumericWheelAdapter(Integer.MAX_VALUE - 1, Integer.MAX_VALUE, 1, 0, null, null);
+        assertEquals(String.valueOf(Integer.MAX_VALUE), getText(adapter, 1));
+    }
+
+    @Test
+    public void stepsThroughRange() {
+        NumericWheelAdapter adapter = new NumericWheelAdapter(0, 58, 5, 2, null, null);
+        // 结束值不在步长上时不包含
+        assertEquals(12, adapter.getCount());
+        assertEquals("15", getText(adapter, 3));
+        assertEquals("55", getText(adapter, 11));
+        assertEquals(3, adapter.getIndex(15));
+        assertEquals(-1, adapter.getIndex(16));
+        assertEquals(-1, adapter.getIndex(60));
+    }
+
+    @Test
+    public void wideRangeCountIsClamped() {
+        NumericWheelAdapter adapter = new NumericWheelAdapter(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertEquals(Integer.MAX_VALUE, adapter.getCount());
+        assertEquals(String.valueOf(Integer.MIN_VALUE), getText(adapter, 0));
+        assertEquals(-1, adapter.getIndex(Integer.MAX_VALUE));
+
+        adapter = new NumericWheelAdapter(Integer.MIN_VALUE, Integer.MAX_VALUE, 2, 0, null, null);
+        assertEquals(Integer.MAX_VALUE, adapter.getCount());
+    }
+
+    @Test
+    public void emptyWhenEndBeforeStart() {
+        assertEquals(0, new NumericWheelAdapter(10, 9).getCount());
+    }
+
+    @Test
+    public void stringTextMatchesCharText() {
+        NumericWheelAdapter adapter = new NumericWheelAdapter(-3, 3, 1, 3, "$", "!");
+        for (int i = 0; i < adapter.getCount(); i++) {
+            assertEquals(getText(adapter, i), adapter.getText(i));
+        }
+    }
+
+    /**
+     * 字符数组的长度正好是声明的最大长度，写不下时测试失败
+     */
+    private static String getText(NumericWheelAdapter adapter, int index) {
+        char[] buffer = new char[adapter.getMaxTextLength()];
+        return new String(buffer, 0, adapter.getText(index, buffer));
+    }
+}
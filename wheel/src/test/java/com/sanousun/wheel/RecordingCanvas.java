@@ -0,0 +1,193 @@
+package com.sanousun.wheel;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Picture;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+/**
+ * 只记录调用次数的画布，不进行任何实际绘制，用来统计一帧中的绘制操作以及 save/restore 的层数
+ * 所有计数在 {@link #beginFrame()} 时清零，同时记录最后一次绘制的文字与矩形的位置
+ */
+
+final class RecordingCanvas extends Canvas {
+
+    /**
+     * 当前的状态层数，与 Canvas 一致初始为 1
+     */
+    private int mSaveCount = 1;
+
+    int mMaxSaveCount;
+    int mSaves;
+    int mClips;
+    int mConcats;
+    int mTextDraws;
+    int mBitmapDraws;
+    int mPictureDraws;
+    int mShapeDraws;
+
+    String mLastText;
+    float mLastTextX;
+    float mLastTextSize;
+    RectF mLastRect = new RectF();
+
+    void beginFrame() {
+        mSaveCount = 1;
+        mMaxSaveCount = 1;
+        mSaves = 0;
+        mClips = 0;
+        mConcats = 0;
+        mTextDraws = 0;
+        mBitmapDraws = 0;
+        mPictureDraws = 0;
+        mShapeDraws = 0;
+    }
+
+    /**
+     * 绘制 item 的次数，文字、位图以及显示列表都算一次
+     */
+    int getItemDraws() {
+        return mTextDraws + mBitmapDraws + mPictureDraws;
+    }
+
+    /* *************************** 状态 *************************** */
+
+    @Override
+    public int save() {
+        mSaves++;
+        mSaveCount++;
+        mMaxSaveCount = Math.max(mMaxSaveCount, mSaveCount);
+        return mSaveCount - 1;
+    }
+
+    @Override
+    public void restore() {
+        if (mSaveCount <= 1) {
+            throw new IllegalStateException("Underflow in restore");
+        }
+        mSaveCount--;
+    }
+
+    @Override
+    public void restoreToCount(int saveCount) {
+        if (saveCount < 1 || saveCount > mSaveCount) {
+            throw new IllegalStateException("Underflow in restoreToCount: " + saveCount);
+        }
+        mSaveCount = saveCount;
+    }
+
+    @Override
+    public int getSaveCount() {
+        return mSaveCount;
+    }
+
+    @Override
+    public boolean isHardwareAccelerated() {
+        return false;
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+    }
+
+    @Override
+    public void scale(float sx, float sy) {
+    }
+
+    @Override
+    public void rotate(float degrees) {
+    }
+
+    @Override
+    public void concat(Matrix matrix) {
+        mConcats++;
+    }
+
+    @Override
+    public boolean clipRect(float left, float top, float right, float bottom) {
+        mClips++;
+        return true;
+    }
+
+    @Override
+    public boolean clipRect(int left, int top, int right, int bottom) {
+        mClips++;
+        return true;
+    }
+
+    @Override
+    public boolean clipRect(Rect rect) {
+        mClips++;
+        return true;
+    }
+
+    @Override
+    public boolean clipRect(RectF rect) {
+        mClips++;
+        return true;
+    }
+
+    /* *************************** 绘制 *************************** */
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        mTextDraws++;
+        mLastText = text;
+        mLastTextX = x;
+        mLastTextSize = paint.getTextSize();
+    }
+
+    @Override
+    public void drawText(String text, int start, int end, float x, float y, Paint paint) {
+        mTextDraws++;
+    }
+
+    @Override
+    public void drawText(CharSequence text, int start, int end, float x, float y, Paint paint) {
+        mTextDraws++;
+    }
+
+    @Override
+    public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        mTextDraws++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        mBitmapDraws++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Matrix matrix, Paint paint) {
+        mBitmapDraws++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, RectF dst, Paint paint) {
+        mBitmapDraws++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, Rect dst, Paint paint) {
+        mBitmapDraws++;
+    }
+
+    @Override
+    public void drawPicture(Picture picture) {
+        mPictureDraws++;
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        mShapeDraws++;
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        mShapeDraws++;
+        mLastRect.set(left, top, right, bottom);
+    }
+}
@@ -0,0 +1,32 @@
+package com.sanousun.wheel;
+
+import android.graphics.Matrix;
+
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.shadows.ShadowMatrix;
+
+/**
+ * Robolectric 的 ShadowMatrix 每次设置都会拼接字符串并创建新的矩阵对象，而真机上是 native 调用，不会分配对象
+ * 绘制时每个槽位都会设置一次矩阵，这里只替换这两个方法，让分配统计只反映滚轮自身的代码
+ * 画布只记录调用次数，不会读取矩阵的值
+ */
+
+@Implements(Matrix.class)
+public class ShadowSlotMatrix extends ShadowMatrix {
+
+    private final float[] mValues = new float[9];
+
+    @Implementation
+    @Override
+    public void setScale(float sx, float sy) {
+        mValues[Matrix.MSCALE_X] = sx;
+        mValues[Matrix.MSCALE_Y] = sy;
+    }
+
+    @Implementation
+    @Override
+    public void setValues(float[] values) {
+        System.arraycopy(values, 0, mValues, 0, mValues.length);
+    }
+}
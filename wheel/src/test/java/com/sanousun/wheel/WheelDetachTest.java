@@ -0,0 +1,139 @@
+package com.sanousun.wheel;
+
+import android.app.Activity;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 滚轮离开窗口再重新添加：离开期间准备好的异步数据照常设置，正在进行的滚动直接停在目标 item 上
+ */
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27, shadows = ShadowSlotMatrix.class)
+public class WheelDetachTest {
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 2000;
+    private static final int FLING_DISTANCE = -600;
+    private static final int FLING_STEPS = 5;
+
+    private FrameLayout mParent;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.setupActivity(Activity.class);
+        mParent = new FrameLayout(activity);
+        activity.setContentView(mParent);
+    }
+
+    @Test
+    public void scrollWheelKeepsAsyncDataAcrossDetach() throws Exception {
+        ScrollWheelView wheel = new ScrollWheelView(mParent.getContext());
+        mParent.addView(wheel);
+        List<WheelBean> data = WheelFrameBudgetTest.createData();
+        wheel.setDataAsync(data);
+        reattach(wheel);
+
+        finishBackground();
+        assertNotNull(wheel.getAdapter());
+        assertEquals(data.size(), wheel.getAdapter().getCount());
+    }
+
+    @Test
+    public void wheelViewKeepsAsyncDataAcrossDetach() throws Exception {
+        WheelView wheel = new WheelView(mParent.getContext());
+        mParent.addView(wheel);
+        List<WheelBean> data = WheelFrameBudgetTest.createData();
+        wheel.setDataAsync(data);
+        reattach(wheel);
+
+        finishBackground();
+        assertNotNull(wheel.getAdapter());
+        assertEquals(data.size(), wheel.getAdapter().getCount());
+    }
+
+    @Test
+    public void scrollWheelSettlesWhenDetached() {
+        ScrollWheelView wheel = new ScrollWheelView(mParent.getContext());
+        wheel.setData(WheelFrameBudgetTest.createData());
+        mParent.addView(wheel);
+        WheelFrameHarness harness = new WheelFrameHarness(wheel, WIDTH, HEIGHT);
+        wheel.setOnWheelPerformanceListener(harness);
+        RecordingListener listener = new RecordingListener();
+        wheel.setOnWheelChangeListener(listener);
+
+        harness.fling(FLING_DISTANCE, FLING_STEPS);
+        assertEquals(null, harness.getStats());
+        mParent.removeView(wheel);
+
+        assertNotNull("scroll should settle on detach", harness.getStats());
+        assertEquals(1, listener.mChanges);
+        assertTrue(listener.mIndex > 0);
+        assertEquals(listener.mIndex, wheel.getCurrentIndex());
+    }
+
+    @Test
+    public void wheelViewSettlesWhenDetached() {
+        WheelView wheel = new WheelView(mParent.getContext());
+        wheel.setData(WheelFrameBudgetTest.createData());
+        mParent.addView(wheel);
+        WheelFrameHarness harness = new WheelFrameHarness(wheel, WIDTH, HEIGHT);
+        wheel.setOnWheelPerformanceListener(harness);
+        RecordingListener listener = new RecordingListener();
+        wheel.setOnWheelChangeListener(listener);
+
+        harness.fling(FLING_DISTANCE, FLING_STEPS);
+        assertEquals(null, harness.getStats());
+        mParent.removeView(wheel);
+
+        assertNotNull("scroll should settle on detach", harness.getStats());
+        assertEquals(1, listener.mChanges);
+        assertTrue(listener.mIndex > 0);
+        assertEquals(listener.mIndex, wheel.getCurrentIndex());
+    }
+
+    private void reattach(View wheel) {
+        mParent.removeView(wheel);
+        mParent.addView(wheel);
+    }
+
+    /**
+     * 等待共享后台线程上的任务完成，再在主线程处理结果
+     */
+    private static void finishBackground() throws ExecutionException, InterruptedException {
+        WheelExecutors.background().submit(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }).get();
+        ShadowLooper.idleMainLooper();
+    }
+
+    private static class RecordingListener
+            implements ScrollWheelView.OnWheelChangeListener, WheelView.OnWheelChangeListener {
+
+        int mChanges;
+        int mIndex = -1;
+
+        @Override
+        public void onWheelChange(int index, WheelBean wheelBean) {
+            mChanges++;
+            mIndex = index;
+        }
+    }
+}
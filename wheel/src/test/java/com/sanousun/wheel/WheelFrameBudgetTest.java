@@ -0,0 +1,193 @@
+package com.sanousun.wheel;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 滚轮 fling 过程中每一帧的绘制预算，超出预算时测试失败
+ * 先完整地 fling 一次，让类加载和缓存进入稳定状态，再反方向 fling 统计每一帧
+ */
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27, shadows = ShadowSlotMatrix.class)
+public class WheelFrameBudgetTest {
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 2000;
+    private static final int ITEM_COUNT = 300;
+    private static final int VISIBLE_ITEM_COUNT = 7;
+
+    private static final int FLING_DISTANCE = 150;
+    private static final int FAR_FLING_DISTANCE = 1500;
+    private static final int FLING_STEPS = 5;
+    private static final int MAX_SETTLE_FRAMES = 600;
+
+    /**
+     * 可见 item 加上半露出的一个，跨过两条分割线的 item 各自多绘制一次
+     */
+    private static final int MAX_ITEM_DRAWS = VISIBLE_ITEM_COUNT + 1 + 2;
+    /**
+     * 画布初始的一层、整个滚轮的一层以及槽位的一层
+     */
+    private static final int MAX_SAVE_COUNT = 3;
+    /**
+     * 每个槽位最多 save 一次，加上整个滚轮的一次
+     */
+    private static final int MAX_SAVES = MAX_ITEM_DRAWS + 1;
+    /**
+     * 只有跨过分割线的两个 item 需要裁剪，各自分成两部分
+     */
+    private static final int MAX_CLIPS = 4;
+    /**
+     * 稳定状态下绘制不允许分配对象
+     * Robolectric 分派 native 方法时偶尔会分配少量对象，真机上不会，一次 fling 中允许一帧例外；
+     * 绘制代码中的分配每一帧都会发生，不会被这一帧掩盖
+     */
+    private static final int MAX_ALLOCATING_FRAMES = 1;
+
+    @Test
+    public void scrollWheelFlingStaysWithinBudget() {
+        ScrollWheelView wheel = new ScrollWheelView(RuntimeEnvironment.application);
+        wheel.setData(createData());
+        WheelFrameHarness harness = new WheelFrameHarness(wheel, WIDTH, HEIGHT);
+        wheel.setOnWheelPerformanceListener(harness);
+
+        flingBackAndForth(harness);
+    }
+
+    @Test
+    public void scrollWheelCylinderFlingStaysWithinBudget() {
+        ScrollWheelView wheel = new ScrollWheelView(RuntimeEnvironment.application);
+        wheel.setData(createData());
+        wheel.setProjection(ScrollWheelView.PROJECTION_CYLINDER);
+        WheelFrameHarness harness = new WheelFrameHarness(wheel, WIDTH, HEIGHT);
+        wheel.setOnWheelPerformanceListener(harness);
+
+        flingBackAndForth(harness);
+    }
+
+    @Test
+    public void wheelViewFlingStaysWithinBudget() {
+        WheelView wheel = new WheelView(RuntimeEnvironment.application);
+        wheel.setData(createData());
+        WheelFrameHarness harness = new WheelFrameHarness(wheel, WIDTH, HEIGHT);
+        wheel.setOnWheelPerformanceListener(harness);
+
+        flingBackAndForth(harness);
+    }
+
+    @Test
+    public void scrollWheelBitmapModeStaysWithinBudget() {
+        ScrollWheelView wheel = new ScrollWheelView(RuntimeEnvironment.application);
+        wheel.setData(createData());
+        wheel.setRenderMode(ScrollWheelView.RENDER_MODE_BITMAP);
+        WheelFrameHarness harness = new WheelFrameHarness(wheel, WIDTH, HEIGHT);
+        wheel.setOnWheelPerformanceListener(harness);
+
+        flingPastIntegerCache(harness, wheel);
+        flingBackAndForth(harness);
+    }
+
+    @Test
+    public void scrollWheelDisplayListModeStaysWithinBudget() {
+        ScrollWheelView wheel = new ScrollWheelView(RuntimeEnvironment.application);
+        wheel.setData(createData());
+        wheel.setRenderMode(ScrollWheelView.RENDER_MODE_DISPLAY_LIST);
+        WheelFrameHarness harness = new WheelFrameHarness(wheel, WIDTH, HEIGHT);
+        wheel.setOnWheelPerformanceListener(harness);
+
+        flingPastIntegerCache(harness, wheel);
+        flingBackAndForth(harness);
+    }
+
+    @Test
+    public void scrollWheelTextFitStaysWithinBudget() {
+        ScrollWheelView wheel = new ScrollWheelView(RuntimeEnvironment.application);
+        wheel.setData(createData());
+        wheel.setTextFit(ScrollWheelView.TEXT_FIT_SHRINK);
+        WheelFrameHarness harness = new WheelFrameHarness(wheel, WIDTH, HEIGHT);
+        wheel.setOnWheelPerformanceListener(harness);
+
+        flingPastIntegerCache(harness, wheel);
+        flingBackAndForth(harness);
+    }
+
+    @Test
+    public void scrollWheelTextPrefetchStaysWithinBudget() {
+        ScrollWheelView wheel = new ScrollWheelView(RuntimeEnvironment.application);
+        wheel.setData(createData());
+        wheel.setTextPrefetchCount(VISIBLE_ITEM_COUNT);
+        WheelFrameHarness harness = new WheelFrameHarness(wheel, WIDTH, HEIGHT);
+        wheel.setOnWheelPerformanceListener(harness);
+
+        flingBackAndForth(harness);
+    }
+
+    /**
+     * 以下标为 key 的缓存，超出 Integer 缓存范围 [-128, 127] 的下标装箱时会分配对象，
+     * 先 fling 到所有可见 item 的下标都超出这个范围
+     */
+    static void flingPastIntegerCache(WheelFrameHarness harness, ScrollWheelView wheel) {
+        while (wheel.getCurrentIndex() - VISIBLE_ITEM_COUNT / 2 - 1 <= Byte.MAX_VALUE) {
+            harness.reset();
+            harness.fling(-FAR_FLING_DISTANCE, FLING_STEPS);
+            harness.runUntilSettled(MAX_SETTLE_FRAMES);
+        }
+        harness.reset();
+    }
+
+    /**
+     * 向下 fling 一次作为预热，再 fling 回来并检查这一次的每一帧
+     */
+    static void flingBackAndForth(WheelFrameHarness harness) {
+        harness.fling(-FLING_DISTANCE, FLING_STEPS);
+        harness.runUntilSettled(MAX_SETTLE_FRAMES);
+        harness.reset();
+
+        harness.fling(FLING_DISTANCE, FLING_STEPS);
+        harness.runUntilSettled(MAX_SETTLE_FRAMES);
+        assertWithinBudget(harness);
+    }
+
+    static void assertWithinBudget(WheelFrameHarness harness) {
+        WheelPerformanceStats stats = harness.getStats();
+        assertTrue("gesture should end with a fling", stats.isFling());
+        assertTrue("frames drawn: " + harness.mFrameCount, harness.mFrameCount > FLING_STEPS);
+
+        assertEquals("frames with unbalanced save/restore", 0, harness.mUnbalancedFrames);
+        assertTrue("max save count " + harness.mMaxSaveCount + " > " + MAX_SAVE_COUNT,
+                harness.mMaxSaveCount <= MAX_SAVE_COUNT);
+        assertTrue("saves per frame " + harness.mMaxSaves + " > " + MAX_SAVES,
+                harness.mMaxSaves <= MAX_SAVES);
+        assertTrue("clips per frame " + harness.mMaxClips + " > " + MAX_CLIPS,
+                harness.mMaxClips <= MAX_CLIPS);
+        assertTrue("item draws per frame " + harness.mMaxItemDraws + " > " + MAX_ITEM_DRAWS,
+                harness.mMaxItemDraws <= MAX_ITEM_DRAWS);
+        assertTrue(harness.mAllocatingFrames + " of " + harness.mFrameCount + " frames allocated, up to "
+                        + harness.mMaxAllocatedBytes + " bytes in one frame",
+                harness.mAllocatingFrames <= MAX_ALLOCATING_FRAMES);
+    }
+
+    static List<WheelBean> createData() {
+        List<WheelBean> data = new ArrayList<>();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            final String text = "item " + i;
+            data.add(new WheelBean() {
+                @Override
+                public String getShowText() {
+                    return text;
+                }
+            });
+        }
+        return data;
+    }
+}
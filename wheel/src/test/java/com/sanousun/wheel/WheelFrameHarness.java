@@ -0,0 +1,165 @@
+package com.sanousun.wheel;
+
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.robolectric.shadows.ShadowChoreographer;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 在 Robolectric 中逐帧驱动滚轮：模拟手指拖动后抬起触发 fling，之后每一帧推进 16ms 的时钟，
+ * 执行 Choreographer 回调和 computeScroll 后调用 onDraw 绘制到 {@link RecordingCanvas}，
+ * 记录每一帧的绘制次数、save/restore 的层数以及 onDraw 中分配的字节数，直到滚轮停止滚动
+ */
+
+final class WheelFrameHarness implements OnWheelPerformanceListener {
+
+    static final int FRAME_INTERVAL_MS = 16;
+
+    private final View mView;
+    private final RecordingCanvas mCanvas = new RecordingCanvas();
+    private final com.sun.management.ThreadMXBean mThreadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    /**
+     * 读取分配字节数本身的分配，测量时扣除
+     */
+    private final long mMeasureOverhead;
+
+    private WheelPerformanceStats mStats;
+
+    int mFrameCount;
+    int mMaxItemDraws;
+    int mMaxSaves;
+    int mMaxClips;
+    int mMaxSaveCount;
+    int mUnbalancedFrames;
+    long mMaxAllocatedBytes;
+    long mTotalAllocatedBytes;
+    /**
+     * onDraw 中分配了对象的帧数
+     */
+    int mAllocatingFrames;
+
+    WheelFrameHarness(View view, int width, int height) {
+        mView = view;
+        ShadowChoreographer.setFrameInterval(TimeUnit.MILLISECONDS.toNanos(FRAME_INTERVAL_MS));
+        ShadowChoreographer.setPostFrameCallbackDelay(FRAME_INTERVAL_MS);
+        view.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.AT_MOST));
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            long start = allocatedBytes();
+            overhead = Math.min(overhead, allocatedBytes() - start);
+        }
+        mMeasureOverhead = overhead;
+    }
+
+    /**
+     * 清空统计，开始下一次手势
+     */
+    void reset() {
+        mStats = null;
+        mFrameCount = 0;
+        mMaxItemDraws = 0;
+        mMaxSaves = 0;
+        mMaxClips = 0;
+        mMaxSaveCount = 0;
+        mUnbalancedFrames = 0;
+        mMaxAllocatedBytes = 0;
+        mTotalAllocatedBytes = 0;
+        mAllocatingFrames = 0;
+    }
+
+    /**
+     * 手指从滚轮中心匀速移动 distance 后抬起，每一步间隔一帧，移动过程中同样逐帧绘制
+     *
+     * @param distance 手指移动的距离，向上为负
+     */
+    void fling(int distance, int steps) {
+        float x = mView.getWidth() / 2f;
+        int fromY = mView.getHeight() / 2;
+        long downTime = SystemClock.uptimeMillis();
+        dispatch(downTime, MotionEvent.ACTION_DOWN, x, fromY);
+        for (int i = 1; i <= steps; i++) {
+            advanceFrame();
+            dispatch(downTime, MotionEvent.ACTION_MOVE, x, fromY + distance * i / steps);
+            drawFrame();
+        }
+        dispatch(downTime, MotionEvent.ACTION_UP, x, fromY + distance);
+    }
+
+    /**
+     * 逐帧推进直到滚轮停止滚动
+     *
+     * @return 抬起手指之后绘制的帧数
+     */
+    int runUntilSettled(int maxFrames) {
+        int frames = 0;
+        while (mStats == null && frames < maxFrames) {
+            advanceFrame();
+            drawFrame();
+            frames++;
+        }
+        if (mStats == null) {
+            throw new AssertionError("wheel did not settle within " + maxFrames + " frames");
+        }
+        return frames;
+    }
+
+    /**
+     * 滚轮停止滚动时回调的统计，还没有停止时为 null
+     */
+    WheelPerformanceStats getStats() {
+        return mStats;
+    }
+
+    @Override
+    public void onWheelPerformance(WheelPerformanceStats stats) {
+        mStats = stats;
+    }
+
+    private void advanceFrame() {
+        ShadowLooper.idleMainLooper(FRAME_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        mView.computeScroll();
+    }
+
+    private void drawFrame() {
+        mCanvas.beginFrame();
+        long start = allocatedBytes();
+        // ShadowView 的 draw 只绘制背景，直接调用 onDraw
+        if (mView instanceof WheelView) {
+            ((WheelView) mView).onDraw(mCanvas);
+        } else {
+            ((ScrollWheelView) mView).onDraw(mCanvas);
+        }
+        long allocated = Math.max(0, allocatedBytes() - start - mMeasureOverhead);
+        mFrameCount++;
+        mMaxItemDraws = Math.max(mMaxItemDraws, mCanvas.getItemDraws());
+        mMaxSaves = Math.max(mMaxSaves, mCanvas.mSaves);
+        mMaxClips = Math.max(mMaxClips, mCanvas.mClips);
+        mMaxSaveCount = Math.max(mMaxSaveCount, mCanvas.mMaxSaveCount);
+        if (mCanvas.getSaveCount() != 1) {
+            mUnbalancedFrames++;
+        }
+        mMaxAllocatedBytes = Math.max(mMaxAllocatedBytes, allocated);
+        mTotalAllocatedBytes += allocated;
+        if (allocated > 0) {
+            mAllocatingFrames++;
+        }
+    }
+
+    private void dispatch(long downTime, int action, float x, float y) {
+        MotionEvent event = MotionEvent.obtain(downTime, SystemClock.uptimeMillis(), action, x, y, 0);
+        mView.dispatchTouchEvent(event);
+        event.recycle();
+    }
+
+    private long allocatedBytes() {
+        return mThreadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,155 @@
+package com.sanousun.wheel;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowBitmapFactory;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * 图标解码后保持宽高比缩放到方框内，较长的一边等于方框的边长
+ * 解码请求在主线程排队，先解码最近请求的图标，过期的请求直接放弃，失败的图标一段时间后重试
+ */
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class WheelIconLoaderTest {
+
+    private static final int SIZE = 60;
+    /**
+     * 比 WheelIconLoader 中的过期时间和重试间隔略长
+     */
+    private static final long STALE_MILLIS = 600;
+    private static final long RETRY_MILLIS = 10100;
+
+    @Test
+    public void wideIconFitsBox() {
+        // 3:2 的国旗
+        Bitmap icon = decode(android.R.drawable.star_on, 300, 200);
+        assertEquals(SIZE, icon.getWidth());
+        assertEquals(40, icon.getHeight());
+    }
+
+    @Test
+    public void tallIconFitsBox() {
+        Bitmap icon = decode(android.R.drawable.star_off, 100, 400);
+        assertEquals(15, icon.getWidth());
+        assertEquals(SIZE, icon.getHeight());
+    }
+
+    @Test
+    public void smallIconScalesUp() {
+        Bitmap icon = decode(android.R.drawable.btn_star, 30, 20);
+        assertEquals(SIZE, icon.getWidth());
+        assertEquals(40, icon.getHeight());
+    }
+
+    @Test
+    public void staleRequestsAreDroppedAndNewestDecodedFirst() throws Exception {
+        int first = android.R.drawable.ic_menu_add;
+        int stale = android.R.drawable.ic_menu_agenda;
+        int older = android.R.drawable.ic_menu_call;
+        int newest = android.R.drawable.ic_menu_camera;
+        View host = new View(RuntimeEnvironment.application);
+        provideBoxSize(first, stale, older, newest);
+        ShadowLooper.pauseMainLooper();
+        // 后台线程被占用，第一个图标的解码还没有完成时其余的请求排队
+        CountDownLatch busy = blockBackground();
+        assertNull(WheelIconLoader.get(host, first, SIZE));
+        assertNull(WheelIconLoader.get(host, stale, SIZE));
+        ShadowLooper.idleMainLooper(STALE_MILLIS, TimeUnit.MILLISECONDS);
+        assertNull(WheelIconLoader.get(host, older, SIZE));
+        ShadowLooper.idleMainLooper(1, TimeUnit.MILLISECONDS);
+        assertNull(WheelIconLoader.get(host, newest, SIZE));
+        busy.countDown();
+
+        finishDecode();
+        assertNotNull(WheelIconLoader.get(host, first, SIZE));
+        // 最近请求的图标先解码
+        finishDecode();
+        assertNotNull(WheelIconLoader.get(host, newest, SIZE));
+        assertNull(WheelIconLoader.get(host, older, SIZE));
+        finishDecode();
+        assertNotNull(WheelIconLoader.get(host, older, SIZE));
+        // 过期的请求已经放弃，再次请求时才重新解码
+        assertNull(WheelIconLoader.get(host, stale, SIZE));
+        finishDecode();
+        assertNotNull(WheelIconLoader.get(host, stale, SIZE));
+    }
+
+    @Test
+    public void failedIconIsRetried() throws Exception {
+        int resId = android.R.drawable.ic_menu_close_clear_cancel;
+        View host = new View(RuntimeEnvironment.application);
+        ShadowLooper.pauseMainLooper();
+        ShadowBitmapFactory.provideWidthAndHeightHints(resId, 0, 0);
+        assertNull(WheelIconLoader.get(host, resId, SIZE));
+        finishDecode();
+
+        provideBoxSize(resId);
+        assertNull(WheelIconLoader.get(host, resId, SIZE));
+        finishDecode();
+        assertNull(WheelIconLoader.get(host, resId, SIZE));
+
+        ShadowLooper.idleMainLooper(RETRY_MILLIS, TimeUnit.MILLISECONDS);
+        assertNull(WheelIconLoader.get(host, resId, SIZE));
+        finishDecode();
+        assertNotNull(WheelIconLoader.get(host, resId, SIZE));
+    }
+
+    /**
+     * Robolectric 的 createScaledBitmap 不会设置位图的格式，无法计算缓存大小，这里使用不需要缩放的尺寸
+     */
+    private static void provideBoxSize(int... resIds) {
+        for (int resId : resIds) {
+            ShadowBitmapFactory.provideWidthAndHeightHints(resId, SIZE, SIZE * 2 / 3);
+        }
+    }
+
+    private static CountDownLatch blockBackground() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        WheelExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        return latch;
+    }
+
+    /**
+     * 等待后台线程上正在进行的解码完成，再在主线程处理结果
+     */
+    private static void finishDecode() throws ExecutionException, InterruptedException {
+        WheelExecutors.background().submit(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }).get();
+        ShadowLooper.idleMainLooper();
+    }
+
+    private static Bitmap decode(int resId, int width, int height) {
+        ShadowBitmapFactory.provideWidthAndHeightHints(resId, width, height);
+        Resources resources = RuntimeEnvironment.application.getResources();
+        return WheelIconLoader.decode(resources, resId, SIZE);
+    }
+}
@@ -0,0 +1,130 @@
+package com.sanousun.wheel;
+
+import android.graphics.Paint;
+import android.view.View;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowBitmapFactory;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * WheelItemRenderer 中图标与文字的布局，文字只使用图标右侧的宽度
+ * Robolectric 中文字的宽度等于字符数，不随字号变化
+ */
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class WheelItemRendererTest {
+
+    private static final int ITEM_HEIGHT = 90;
+    private static final int AVAILABLE_WIDTH = 300;
+    private static final float CENTER_X = 200;
+    private static final int CENTER_Y = 45;
+    private static final float TEXT_SIZE = 40;
+
+    private Paint mPaint;
+    private WheelItemRenderer mRenderer;
+    private RecordingCanvas mCanvas;
+
+    @Before
+    public void setUp() {
+        mPaint = new Paint();
+        mPaint.setTextAlign(Paint.Align.CENTER);
+        mPaint.setTextSize(TEXT_SIZE);
+        mRenderer = new WheelItemRenderer(new View(RuntimeEnvironment.application), mPaint, new Paint(mPaint));
+        mRenderer.setItemHeight(ITEM_HEIGHT);
+        mRenderer.setAvailableWidth(AVAILABLE_WIDTH);
+        mRenderer.setFitMode(WheelItemRenderer.FIT_SHRINK);
+        mCanvas = new RecordingCanvas();
+        // Robolectric 的 createScaledBitmap 不会设置位图的格式，图标使用不需要缩放的尺寸
+        int iconSize = ITEM_HEIGHT * 2 / 3;
+        ShadowBitmapFactory.provideWidthAndHeightHints(android.R.drawable.star_on, iconSize, iconSize);
+    }
+
+    /**
+     * 图标的解码状态在所有滚轮之间共享，等待这里发起的解码完成，不影响其他测试
+     */
+    @After
+    public void tearDown() throws ExecutionException, InterruptedException {
+        WheelExecutors.background().submit(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }).get();
+        ShadowLooper.idleMainLooper();
+    }
+
+    @Test
+    public void iconItemTextStaysRightOfIcon() {
+        // 比可用宽度略短，不除去图标的宽度时不会缩小
+        mRenderer.setAdapter(new ListWheelAdapter(createData(new IconBean(repeat(250), android.R.drawable.star_on))));
+
+        mRenderer.drawItem(mCanvas, 0, mPaint, 0, CENTER_X, CENTER_Y);
+
+        float textWidth = mCanvas.mLastText.length() * mCanvas.mLastTextSize / TEXT_SIZE;
+        float textLeft = mCanvas.mLastTextX - textWidth / 2;
+        float textRight = mCanvas.mLastTextX + textWidth / 2;
+        // 图标的占位
+        assertEquals(CENTER_X - AVAILABLE_WIDTH / 2f, mCanvas.mLastRect.left, 0f);
+        assertTrue("text left " + textLeft + " overlaps icon " + mCanvas.mLastRect,
+                textLeft >= mCanvas.mLastRect.right);
+        assertTrue("text right " + textRight + " exceeds available width",
+                textRight <= CENTER_X + AVAILABLE_WIDTH / 2f + 0.5f);
+    }
+
+    @Test
+    public void itemWithoutIconStaysCentered() {
+        mRenderer.setAdapter(new ListWheelAdapter(createData(new IconBean(repeat(250), 0))));
+
+        mRenderer.drawItem(mCanvas, 0, mPaint, 0, CENTER_X, CENTER_Y);
+
+        assertEquals(0, mCanvas.mShapeDraws);
+        assertEquals(CENTER_X, mCanvas.mLastTextX, 0f);
+        assertEquals(TEXT_SIZE, mCanvas.mLastTextSize, 0f);
+    }
+
+    private static List<WheelBean> createData(WheelBean... beans) {
+        return new ArrayList<>(Arrays.asList(beans));
+    }
+
+    private static String repeat(int length) {
+        char[] chars = new char[length];
+        Arrays.fill(chars, 'a');
+        return new String(chars);
+    }
+
+    private static class IconBean implements IconWheelBean {
+
+        private final String mText;
+        private final int mIconRes;
+
+        IconBean(String text, int iconRes) {
+            mText = text;
+            mIconRes = iconRes;
+        }
+
+        @Override
+        public String getShowText() {
+            return mText;
+        }
+
+        @Override
+        public int getIconRes() {
+            return mIconRes;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.sanousun.wheel;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * WheelLruCache 的淘汰顺序与大小统计
+ */
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class WheelLruCacheTest {
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        WheelLruCache<String> cache = new WheelLruCache<>(3);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.put(3, "c");
+        // 访问后 1 变为最近使用，最久没有访问的是 2
+        assertEquals("a", cache.get(1));
+
+        cache.put(4, "d");
+
+        assertNull(cache.get(2));
+        assertEquals("a", cache.get(1));
+        assertEquals("c", cache.get(3));
+        assertEquals("d", cache.get(4));
+    }
+
+    @Test
+    public void replacingKeepsSize() {
+        WheelLruCache<String> cache = new WheelLruCache<>(2);
+        cache.put(1, "a");
+        cache.put(1, "b");
+        cache.put(2, "c");
+
+        assertEquals("b", cache.get(1));
+        assertEquals("c", cache.get(2));
+    }
+
+    @Test
+    public void evictsBySize() {
+        WheelLruCache<String> cache = new WheelLruCache<String>(5) {
+            @Override
+            protected int sizeOf(String value) {
+                return value.length();
+            }
+        };
+        cache.put(1, "aa");
+        cache.put(2, "bb");
+        cache.put(3, "cc");
+
+        assertNull(cache.get(1));
+        assertEquals("bb", cache.get(2));
+        assertEquals("cc", cache.get(3));
+
+        // 超过最大值的单个值不会保留
+        cache.put(4, "dddddd");
+        assertNull(cache.get(4));
+        assertNull(cache.get(2));
+    }
+
+    @Test
+    public void supportsLongKeysAndEvictAll() {
+        WheelLruCache<String> cache = new WheelLruCache<>(2);
+        long key = ((long) 0x7f020001 << 32) | 60;
+        cache.put(key, "icon");
+        cache.put(-1, "negative");
+
+        assertEquals("icon", cache.get(key));
+        assertEquals("negative", cache.get(-1));
+
+        cache.evictAll();
+        assertNull(cache.get(key));
+        cache.put(3, "c");
+        cache.put(4, "d");
+        assertEquals("c", cache.get(3));
+        assertEquals("d", cache.get(4));
+    }
+}